@@ -3,10 +3,12 @@ package io.mosip.commons.packet.config;
 import io.mosip.commons.packet.constants.LoggerFileConstant;
 import io.mosip.commons.packet.spi.IPacketReader;
 import io.mosip.commons.packet.spi.IPacketWriter;
+import io.mosip.commons.packet.util.BoundedExecutors;
 import io.mosip.commons.packet.util.PacketHelper;
 import io.mosip.commons.packet.util.PacketManagerLogger;
 import io.mosip.kernel.core.logger.spi.Logger;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.context.properties.ConfigurationProperties;
 import org.springframework.cache.annotation.EnableCaching;
 import org.springframework.context.ApplicationContext;
@@ -24,6 +26,7 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ExecutorService;
 
 @Configuration
 @EnableCaching
@@ -140,6 +143,34 @@ public class PacketManagerConfig {
         return iPacketWriters;
     }
 
+    /**
+     * Bounded executor used to fetch and decrypt the subpackets of a packet concurrently.
+     * When the queue is full the calling thread runs the fetch itself.
+     *
+     * @param parallelism the number of subpackets fetched at a time
+     * @param queueCapacity the number of fetches waiting for a thread
+     * @return the executor service
+     */
+    @Bean(name = "subpacketReadExecutor", destroyMethod = "shutdown")
+    public ExecutorService subpacketReadExecutor(@Value("${packetmanager.subpacket.read.parallelism:6}") int parallelism,
+                                                 @Value("${packetmanager.subpacket.read.queue-capacity:100}") int queueCapacity) {
+        return BoundedExecutors.newBoundedExecutor("subpacket-read-", parallelism, queueCapacity);
+    }
+
+    /**
+     * Bounded executor used to issue object store calls concurrently, for example the object download
+     * and the metadata lookup of the same subpacket.
+     *
+     * @param parallelism the number of object store calls running at a time
+     * @param queueCapacity the number of calls waiting for a thread
+     * @return the executor service
+     */
+    @Bean(name = "objectStoreExecutor", destroyMethod = "shutdown")
+    public ExecutorService objectStoreExecutor(@Value("${packetmanager.objectstore.parallelism:20}") int parallelism,
+                                               @Value("${packetmanager.objectstore.queue-capacity:200}") int queueCapacity) {
+        return BoundedExecutors.newBoundedExecutor("objectstore-", parallelism, queueCapacity);
+    }
+
     private Object getBean(String className) throws ClassNotFoundException {
         Class<?> clazz = Class.forName(className);
         return applicationContext.getBean(clazz);
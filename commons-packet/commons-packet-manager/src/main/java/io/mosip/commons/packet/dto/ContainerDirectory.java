@@ -0,0 +1,32 @@
+package io.mosip.commons.packet.dto;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import lombok.Data;
+
+/**
+ * The names of the items in a container, stored next to its subpackets when the packet is written.
+ * It holds no values, so the content of a container is known without fetching and decrypting the subpackets.
+ */
+@Data
+public class ContainerDirectory {
+
+    private String source;
+    private String process;
+    /**
+     * the iteration at the end of the process, null if the process has none.
+     */
+    private Integer iteration;
+    /**
+     * the identity field names of all the subpackets.
+     */
+    private Set<String> fields = new HashSet<>();
+    /**
+     * the subtypes by biometric type by biometric field name. A subtype is the words of the segment subtype joined with space.
+     */
+    private Map<String, Map<String, List<String>>> biometrics = new HashMap<>();
+}
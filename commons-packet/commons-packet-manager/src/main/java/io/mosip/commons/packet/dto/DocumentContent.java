@@ -0,0 +1,23 @@
+package io.mosip.commons.packet.dto;
+
+import java.io.InputStream;
+
+import lombok.Data;
+
+/**
+ * A document with its content as stream, read from the packet without being copied into memory.
+ * The caller closes the content.
+ */
+@Data
+public class DocumentContent {
+
+    private String value;
+    private String type;
+    private String format;
+    private String refNumber;
+    /**
+     * the size of the content or -1 if not known.
+     */
+    private long length = -1;
+    private InputStream content;
+}
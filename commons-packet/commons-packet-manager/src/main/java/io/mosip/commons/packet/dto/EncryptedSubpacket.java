@@ -0,0 +1,21 @@
+package io.mosip.commons.packet.dto;
+
+import lombok.Data;
+
+/**
+ * Encrypted subpacket split in the parts sent to cryptomanager for decryption.
+ */
+@Data
+public class EncryptedSubpacket {
+
+    private byte[] nonce;
+    private byte[] aad;
+    /**
+     * url safe base64 encoded encrypted data.
+     */
+    private String encryptedData;
+    /**
+     * total number of bytes read from the object store.
+     */
+    private long size;
+}
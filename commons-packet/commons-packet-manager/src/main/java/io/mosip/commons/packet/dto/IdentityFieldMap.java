@@ -0,0 +1,92 @@
+package io.mosip.commons.packet.dto;
+
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+
+/**
+ * Identity fields in document order with a case-insensitive index of the field names.
+ * The index is serialized with the map, so it is built once when the identity is read and not on every lookup.
+ * Every method which can add a field indexes it. Fields removed or set to null are not taken out of the index,
+ * a lookup which finds such a field falls back to the other case variants of the name.
+ */
+public class IdentityFieldMap extends LinkedHashMap<String, Object> {
+
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * field name by lower case field name. The first added name wins while it is present.
+     */
+    private final HashMap<String, String> index = new HashMap<>();
+
+    @Override
+    public Object put(String key, Object value) {
+        addToIndex(key);
+        return super.put(key, value);
+    }
+
+    @Override
+    public Object putIfAbsent(String key, Object value) {
+        addToIndex(key);
+        return super.putIfAbsent(key, value);
+    }
+
+    @Override
+    public void putAll(Map<? extends String, ?> map) {
+        map.keySet().forEach(this::addToIndex);
+        super.putAll(map);
+    }
+
+    @Override
+    public Object computeIfAbsent(String key, Function<? super String, ?> mappingFunction) {
+        addToIndex(key);
+        return super.computeIfAbsent(key, mappingFunction);
+    }
+
+    @Override
+    public Object compute(String key, BiFunction<? super String, ? super Object, ?> remappingFunction) {
+        addToIndex(key);
+        return super.compute(key, remappingFunction);
+    }
+
+    @Override
+    public Object merge(String key, Object value, BiFunction<? super Object, ? super Object, ?> remappingFunction) {
+        addToIndex(key);
+        return super.merge(key, value, remappingFunction);
+    }
+
+    @Override
+    public void clear() {
+        index.clear();
+        super.clear();
+    }
+
+    /**
+     * Get the value of a field ignoring the case of the field name.
+     * A case variant with a null value is skipped in favour of another one with a value.
+     *
+     * @param field : the field name
+     * @return the value or null if not present
+     */
+    public Object getIgnoreCase(String field) {
+        if (field == null)
+            return null;
+        String key = index.get(field.toLowerCase(Locale.ROOT));
+        if (key == null)
+            return null;
+        Object value = get(key);
+        if (value != null)
+            return value;
+        // the indexed name was removed or has no value, look for another case variant
+        return entrySet().stream().filter(m -> m.getKey() != null && m.getKey().equalsIgnoreCase(field) && m.getValue() != null)
+                .map(Map.Entry::getValue).findFirst().orElse(null);
+    }
+
+    private void addToIndex(String key) {
+        if (key != null)
+            index.compute(key.toLowerCase(Locale.ROOT), (name, indexed) -> indexed == null || !containsKey(indexed) ? key : indexed);
+    }
+}
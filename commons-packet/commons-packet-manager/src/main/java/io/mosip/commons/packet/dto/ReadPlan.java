@@ -0,0 +1,23 @@
+package io.mosip.commons.packet.dto;
+
+import java.util.List;
+import java.util.Map;
+
+import lombok.Data;
+
+/**
+ * The items to read together from one packet. The subpackets needed by all the items are fetched
+ * and decrypted once.
+ */
+@Data
+public class ReadPlan {
+
+    private List<String> fields;
+    private List<String> documents;
+    /**
+     * the modalities to read by biometric field name, null or empty for all modalities.
+     */
+    private Map<String, List<String>> biometrics;
+    private boolean metaInfo;
+    private boolean audits;
+}
@@ -0,0 +1,20 @@
+package io.mosip.commons.packet.dto;
+
+import java.util.List;
+import java.util.Map;
+
+import io.mosip.kernel.biometrics.entities.BiometricRecord;
+import lombok.Data;
+
+/**
+ * The items read for a {@link ReadPlan}. An item which is not requested is null.
+ */
+@Data
+public class ReadResult {
+
+    private Map<String, String> fields;
+    private Map<String, Document> documents;
+    private Map<String, BiometricRecord> biometrics;
+    private Map<String, String> metaInfo;
+    private List<Map<String, String>> audits;
+}
@@ -1,16 +1,13 @@
 package io.mosip.commons.packet.dto.packet;
 
-import com.fasterxml.jackson.databind.ObjectMapper;
 import io.mosip.commons.packet.dto.Document;
+import io.mosip.commons.packet.util.IdentityFieldReader;
 import io.mosip.commons.packet.util.PacketManagerLogger;
 import io.mosip.kernel.biometrics.entities.BiometricRecord;
 import io.mosip.kernel.core.exception.ExceptionUtils;
 import io.mosip.kernel.core.logger.spi.Logger;
 import io.mosip.kernel.core.util.DateUtils;
 import lombok.Data;
-import org.json.JSONArray;
-import org.json.JSONObject;
-import org.json.JSONTokener;
 
 import java.time.LocalDateTime;
 import java.util.ArrayList;
@@ -82,25 +79,7 @@ public class RegistrationPacket {
 
 	private void setFields(String fieldName, String value, Map finalMap) {
 		try {
-			if (value != null) {
-				Object json = new JSONTokener(value).nextValue();
-				if (json instanceof JSONObject) {
-					HashMap<String, Object> hashMap = new ObjectMapper().readValue(value, HashMap.class);
-					finalMap.putIfAbsent(fieldName, hashMap);
-				}
-				else if (json instanceof JSONArray) {
-					List jsonList = new ArrayList<>();
-					JSONArray jsonArray = new JSONArray(value);
-					for (int i = 0; i < jsonArray.length(); i++) {
-						Object obj = jsonArray.get(i);
-						HashMap<String, Object> hashMap = new ObjectMapper().readValue(obj.toString(), HashMap.class);
-						jsonList.add(hashMap);
-					}
-					finalMap.putIfAbsent(fieldName, jsonList);
-				} else
-					finalMap.putIfAbsent(fieldName, value);
-			} else
-				finalMap.putIfAbsent(fieldName, value);
+			finalMap.putIfAbsent(fieldName, IdentityFieldReader.parseValue(value));
 		} catch (Exception e) {
 			LOGGER.error("Exception while setting field " + ExceptionUtils.getStackTrace(e));
 		}
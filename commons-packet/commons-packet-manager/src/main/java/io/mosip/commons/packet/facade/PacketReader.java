@@ -1,13 +1,15 @@
 package io.mosip.commons.packet.facade;
 
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
-import java.util.stream.Collectors;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
 import org.springframework.cache.annotation.Cacheable;
 import org.springframework.cloud.context.config.annotation.RefreshScope;
 import org.springframework.context.annotation.Lazy;
@@ -15,10 +17,16 @@ import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.stereotype.Component;
 
 import io.mosip.commons.khazana.dto.ObjectDto;
+import io.mosip.commons.packet.dto.ContainerDirectory;
 import io.mosip.commons.packet.dto.Document;
+import io.mosip.commons.packet.dto.DocumentContent;
+import io.mosip.commons.packet.dto.IdentityFieldMap;
+import io.mosip.commons.packet.dto.ReadPlan;
+import io.mosip.commons.packet.dto.ReadResult;
 import io.mosip.commons.packet.exception.NoAvailableProviderException;
 import io.mosip.commons.packet.keeper.PacketKeeper;
 import io.mosip.commons.packet.spi.IPacketReader;
+import io.mosip.commons.packet.util.ModalityMatcher;
 import io.mosip.commons.packet.util.PacketHelper;
 import io.mosip.commons.packet.util.PacketManagerLogger;
 import io.mosip.kernel.biometrics.entities.BiometricRecord;
@@ -32,6 +40,9 @@ import io.mosip.kernel.core.logger.spi.Logger;
 public class PacketReader {
 
     private static final Logger LOGGER = PacketManagerLogger.getLogger(PacketReader.class);
+    private static final String PACKET_CACHE = "packets";
+    private static final String BIOMETRICS = "biometrics";
+    private static final String SEPARATOR = "-";
 
     @Autowired(required = false)
     @Qualifier("referenceReaderProviders")
@@ -41,6 +52,9 @@ public class PacketReader {
 	@Autowired
 	private PacketKeeper packetKeeper;
 
+    @Autowired(required = false)
+    private CacheManager cacheManager;
+
     /**
      * Get a field from identity file
      *
@@ -58,8 +72,13 @@ public class PacketReader {
         if (bypassCache)
             value = getProvider(source, process).getField(id, field, source, process);
         else {
-            Optional<Object> optionalValue = getAllFields(id, source, process).entrySet().stream().filter(m-> m.getKey().equalsIgnoreCase(field) && m.getValue()!=null).map(m -> m.getValue()).findAny();
-            value = optionalValue.isPresent() ? optionalValue.get().toString() : null;
+            Map<String, Object> allFields = getAllFields(id, source, process);
+            Object fieldValue;
+            if (allFields instanceof IdentityFieldMap)
+                fieldValue = ((IdentityFieldMap) allFields).getIgnoreCase(field);
+            else
+                fieldValue = allFields.entrySet().stream().filter(m-> m.getKey().equalsIgnoreCase(field) && m.getValue()!=null).map(m -> m.getValue()).findAny().orElse(null);
+            value = fieldValue != null ? fieldValue.toString() : null;
         }
         return value;
     }
@@ -81,12 +100,33 @@ public class PacketReader {
         if (bypassCache)
             values = getProvider(source, process).getFields(id, fields, source, process);
         else {
-            values = getAllFields(id, source, process).entrySet()
-                    .stream().filter(m -> fields.contains(m.getKey())).collect(Collectors.toMap(m -> m.getKey(), m -> m.getValue() != null ? m.getValue().toString() : null));
+            Map<String, Object> allFields = getAllFields(id, source, process);
+            values = new HashMap<>();
+            for (String field : fields) {
+                if (allFields.containsKey(field))
+                    values.put(field, allFields.get(field) != null ? allFields.get(field).toString() : null);
+            }
         }
         return values;
     }
 
+    /**
+     * Get fields from identity file with parsed values. Objects and arrays are returned as Map and List.
+     * The values are read from the packet, not from the cache.
+     *
+     * @param id      : the registration id
+     * @param fields  : fields to search
+     * @param source  : the source packet. If not present return default
+     * @param process : the process
+     * @return Map fields
+     */
+    @PreAuthorize("hasRole('DATA_READ')")
+    public Map<String, Object> getTypedFields(String id, List<String> fields, String source, String process) {
+        LOGGER.info(PacketManagerLogger.SESSIONID, PacketManagerLogger.REGISTRATIONID, id,
+                "getTypedFields for fields : " + fields.toString() + " source : " + source + " process : " + process);
+        return getProvider(source, process).getTypedFields(id, fields, source, process);
+    }
+
     /**
      * Get document by registration id, document name, source and process
      *
@@ -105,7 +145,46 @@ public class PacketReader {
     }
 
     /**
-     * Get biometric information by registration id, document name, source and process
+     * Get document with its content as stream by registration id, document name, source and process.
+     * The content is read from the packet and not cached, the caller closes it.
+     *
+     * @param id           : the registration id
+     * @param documentName : the document name
+     * @param source       : the source packet. If not present return default
+     * @param process      : the process
+     * @return DocumentContent : document information and content
+     */
+    @PreAuthorize("hasRole('DOCUMENT_READ')")
+    public DocumentContent getDocumentContent(String id, String documentName, String source, String process) {
+        LOGGER.info(PacketManagerLogger.SESSIONID, PacketManagerLogger.REGISTRATIONID, id,
+                "getDocumentContent for documentName : " + documentName + " source : " + source + " process : " + process);
+        return getProvider(source, process).getDocumentContent(id, documentName, source, process);
+    }
+
+    /**
+     * Read fields, documents, biometrics, meta info and audits of a packet together. Each subpacket needed
+     * is fetched and decrypted once for all the items. The items are read from the packet, not from the cache.
+     * The role of every requested item type is required.
+     *
+     * @param id      : the registration id
+     * @param plan    : the items to read
+     * @param source  : the source packet. If not present return default
+     * @param process : the process
+     * @return ReadResult : the items read
+     */
+    @PreAuthorize("hasRole('DATA_READ')"
+            + " and (#plan.documents == null or #plan.documents.isEmpty() or hasRole('DOCUMENT_READ'))"
+            + " and (#plan.biometrics == null or #plan.biometrics.isEmpty() or hasRole('BIOMETRIC_READ'))"
+            + " and (!#plan.metaInfo or hasRole('METADATA_READ'))")
+    public ReadResult read(String id, ReadPlan plan, String source, String process) {
+        LOGGER.info(PacketManagerLogger.SESSIONID, PacketManagerLogger.REGISTRATIONID, id,
+                "read for plan : " + plan.toString() + " source : " + source + " process : " + process);
+        return getProvider(source, process).read(id, plan, source, process);
+    }
+
+    /**
+     * Get biometric information by registration id, document name, source and process.
+     * All segments of the person are cached together, a modality subset is filtered from the cached record.
      *
      * @param id         : the registration id
      * @param person     : The person (ex - applicant, operator, supervisor, introducer etc)
@@ -115,11 +194,24 @@ public class PacketReader {
      * @return BiometricRecord : the biometric record
      */
     @PreAuthorize("hasRole('BIOMETRIC_READ')")
-    @Cacheable(value = "packets", key = "'biometrics'.concat('-').#id.concat('-').concat(#person).concat('-').concat(#modalities).concat('-').concat(#source).concat('-').concat(#process)", condition = "#bypassCache == false")
     public BiometricRecord getBiometric(String id, String person, List<String> modalities, String source, String process, boolean bypassCache) {
         LOGGER.info(PacketManagerLogger.SESSIONID, PacketManagerLogger.REGISTRATIONID, id,
                 "getBiometric for source : " + source + " process : " + process);
-        return getProvider(source, process).getBiometric(id, person, modalities, source, process);
+        if (bypassCache)
+            return getProvider(source, process).getBiometric(id, person, modalities, source, process);
+
+        // all segments of the person are cached once and every modality subset is taken from them
+        String key = BIOMETRICS + SEPARATOR + id + SEPARATOR + person + SEPARATOR + source + SEPARATOR + process;
+        Cache cache = getPacketCache();
+        BiometricRecord biometricRecord = cache != null ? cache.get(key, BiometricRecord.class) : null;
+        if (biometricRecord == null) {
+            biometricRecord = getProvider(source, process).getBiometric(id, person, null, source, process);
+            if (biometricRecord == null)
+                return null;
+            if (cache != null)
+                cache.put(key, biometricRecord);
+        }
+        return filterByModalities(biometricRecord, modalities);
     }
 
     /**
@@ -153,6 +245,21 @@ public class PacketReader {
         return packetKeeper.getAll(id);
     }
 
+    /**
+     * Get the names of the fields, biometrics and documents in a container, without reading its subpackets
+     *
+     * @param id      : the registration id
+     * @param source  : the source
+     * @param process : the process
+     * @return ContainerDirectory : the directory, null if the container was stored without directory
+     */
+    @PreAuthorize("hasRole('DATA_READ')")
+    public ContainerDirectory getContainerDirectory(String id, String source, String process) {
+        LOGGER.info(PacketManagerLogger.SESSIONID, PacketManagerLogger.REGISTRATIONID, id,
+                "getContainerDirectory for source : " + source + " process : " + process);
+        return packetKeeper.getDirectory(id, source, process);
+    }
+
     /**
      * Get all field names from identity object
      *
@@ -207,6 +314,29 @@ public class PacketReader {
         return getProvider(source, process).validatePacket(id, source, process);
     }
 
+    private BiometricRecord filterByModalities(BiometricRecord biometricRecord, List<String> modalities) {
+        ModalityMatcher matcher = ModalityMatcher.of(modalities);
+        if (matcher.isAll())
+            return biometricRecord;
+        BiometricRecord filteredRecord = new BiometricRecord();
+        if (biometricRecord.getOthers() != null)
+            filteredRecord.setOthers(new HashMap<>(biometricRecord.getOthers()));
+        filteredRecord.setSegments(matcher.filter(biometricRecord.getSegments()));
+        return filteredRecord;
+    }
+
+    private Cache getPacketCache() {
+        if (cacheManager == null)
+            return null;
+        try {
+            return cacheManager.getCache(PACKET_CACHE);
+        } catch (RuntimeException e) {
+            LOGGER.warn(PacketManagerLogger.SESSIONID, PacketManagerLogger.REGISTRATIONID, null,
+                    "Packet cache not available : " + e.getMessage());
+            return null;
+        }
+    }
+
     private IPacketReader getProvider(String source, String process) {
         LOGGER.info(PacketManagerLogger.SESSIONID, PacketManagerLogger.REGISTRATIONID, null,
                 "getProvider for source : " + source + " process : " + process);
@@ -92,13 +92,17 @@ public class OfflinePacketCryptoServiceImpl implements IPacketCryptoService {
                 CryptomanagerConstant.GCM_NONCE_LENGTH + CryptomanagerConstant.GCM_AAD_LENGTH);
         byte[] encryptedData = Arrays.copyOfRange(packet, CryptomanagerConstant.GCM_NONCE_LENGTH + CryptomanagerConstant.GCM_AAD_LENGTH,
                 packet.length);
+        return decrypt(refId, nonce, aad, CryptoUtil.encodeToURLSafeBase64(encryptedData));
+    }
 
+    @Override
+    public byte[] decrypt(String refId, byte[] nonce, byte[] aad, String encryptedData) {
         CryptomanagerRequestDto cryptomanagerRequestDto = new CryptomanagerRequestDto();
         cryptomanagerRequestDto.setApplicationId(APPLICATION_ID);
         cryptomanagerRequestDto.setReferenceId(refId);
         cryptomanagerRequestDto.setAad(CryptoUtil.encodeToURLSafeBase64(aad));
         cryptomanagerRequestDto.setSalt(CryptoUtil.encodeToURLSafeBase64(nonce));
-        cryptomanagerRequestDto.setData(CryptoUtil.encodeToURLSafeBase64(encryptedData));
+        cryptomanagerRequestDto.setData(encryptedData);
         cryptomanagerRequestDto.setTimeStamp(DateUtils.getUTCCurrentDateTime());
 
         return CryptoUtil.decodeURLSafeBase64(getCryptomanagerService().decrypt(cryptomanagerRequestDto).getData());
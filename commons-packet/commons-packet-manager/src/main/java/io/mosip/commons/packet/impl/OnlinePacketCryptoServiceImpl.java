@@ -185,6 +185,16 @@ public class OnlinePacketCryptoServiceImpl implements IPacketCryptoService {
 
     @Override
     public byte[] decrypt(String refId, byte[] packet) {
+        byte[] nonce = Arrays.copyOfRange(packet, 0, CryptomanagerConstant.GCM_NONCE_LENGTH);
+        byte[] aad = Arrays.copyOfRange(packet, CryptomanagerConstant.GCM_NONCE_LENGTH,
+                                        CryptomanagerConstant.GCM_NONCE_LENGTH + CryptomanagerConstant.GCM_AAD_LENGTH);
+        byte[] encryptedData = Arrays.copyOfRange(packet, CryptomanagerConstant.GCM_NONCE_LENGTH + CryptomanagerConstant.GCM_AAD_LENGTH,
+                                    packet.length);
+        return decrypt(refId, nonce, aad, CryptoUtil.encodeToURLSafeBase64(encryptedData));
+    }
+
+    @Override
+    public byte[] decrypt(String refId, byte[] nonce, byte[] aad, String encryptedData) {
         byte[] decryptedPacket = null;
 
         try {
@@ -192,14 +202,9 @@ public class OnlinePacketCryptoServiceImpl implements IPacketCryptoService {
             RequestWrapper<CryptomanagerRequestDto> request = new RequestWrapper<>();
             cryptomanagerRequestDto.setApplicationId(APPLICATION_ID);
             cryptomanagerRequestDto.setReferenceId(refId);
-            byte[] nonce = Arrays.copyOfRange(packet, 0, CryptomanagerConstant.GCM_NONCE_LENGTH);
-            byte[] aad = Arrays.copyOfRange(packet, CryptomanagerConstant.GCM_NONCE_LENGTH,
-                                            CryptomanagerConstant.GCM_NONCE_LENGTH + CryptomanagerConstant.GCM_AAD_LENGTH);
-            byte[] encryptedData = Arrays.copyOfRange(packet, CryptomanagerConstant.GCM_NONCE_LENGTH + CryptomanagerConstant.GCM_AAD_LENGTH,
-                                        packet.length);
             cryptomanagerRequestDto.setAad(CryptoUtil.encodeToURLSafeBase64(aad));
             cryptomanagerRequestDto.setSalt(CryptoUtil.encodeToURLSafeBase64(nonce));
-            cryptomanagerRequestDto.setData(CryptoUtil.encodeToURLSafeBase64(encryptedData));
+            cryptomanagerRequestDto.setData(encryptedData);
             cryptomanagerRequestDto.setPrependThumbprint(isPrependThumbprintEnabled);
             cryptomanagerRequestDto.setTimeStamp(DateUtils.getUTCCurrentDateTime());
 
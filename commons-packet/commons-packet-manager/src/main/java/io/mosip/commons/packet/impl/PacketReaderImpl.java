@@ -14,24 +14,28 @@ import java.io.InputStream;
 import java.security.NoSuchAlgorithmException;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+
+import javax.xml.stream.XMLStreamException;
 
 import io.mosip.commons.packet.facade.PacketReader;
-import io.mosip.kernel.biometrics.constant.BiometricType;
 import io.mosip.kernel.core.util.JsonUtils;
-import org.apache.commons.collections4.CollectionUtils;
-import org.apache.commons.collections4.ListUtils;
 import org.apache.commons.io.IOUtils;
-import org.apache.commons.lang3.ArrayUtils;
 import org.apache.commons.lang3.StringUtils;
-import org.assertj.core.util.Lists;
 import org.json.JSONArray;
 import org.json.JSONException;
 import org.json.JSONObject;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.cache.annotation.Cacheable;
 import org.springframework.cloud.context.config.annotation.RefreshScope;
@@ -41,8 +45,12 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 
 import io.mosip.commons.packet.constants.PacketManagerConstants;
 import io.mosip.commons.packet.dto.Document;
+import io.mosip.commons.packet.dto.DocumentContent;
+import io.mosip.commons.packet.dto.IdentityFieldMap;
 import io.mosip.commons.packet.dto.Packet;
 import io.mosip.commons.packet.dto.PacketInfo;
+import io.mosip.commons.packet.dto.ReadPlan;
+import io.mosip.commons.packet.dto.ReadResult;
 import io.mosip.commons.packet.exception.ApiNotAccessibleException;
 import io.mosip.commons.packet.exception.GetAllIdentityException;
 import io.mosip.commons.packet.exception.GetAllMetaInfoException;
@@ -54,6 +62,9 @@ import io.mosip.commons.packet.exception.PacketValidationFailureException;
 import io.mosip.commons.packet.keeper.PacketKeeper;
 import io.mosip.commons.packet.spi.IPacketReader;
 import io.mosip.commons.packet.util.IdSchemaUtils;
+import io.mosip.commons.packet.util.CbeffModalityFilter;
+import io.mosip.commons.packet.util.IdentityFieldReader;
+import io.mosip.commons.packet.util.ModalityMatcher;
 import io.mosip.commons.packet.util.PacketManagerHelper;
 import io.mosip.commons.packet.util.PacketManagerLogger;
 import io.mosip.commons.packet.util.PacketValidator;
@@ -91,6 +102,10 @@ public class PacketReaderImpl implements IPacketReader {
 	@Autowired
 	private PacketValidator packetValidator;
 
+	@Autowired
+	@Qualifier("subpacketReadExecutor")
+	private ExecutorService subpacketReadExecutor;
+
 	/**
 	 * Perform packet validations and audit errors. List of validations - 1. schema
 	 * & idobject reference validation 2. files validation 3. decrypted packet
@@ -127,35 +142,16 @@ public class PacketReaderImpl implements IPacketReader {
 	public Map<String, Object> getAll(String id, String source, String process) {
 		LOGGER.info(PacketManagerLogger.SESSIONID, PacketManagerLogger.REGISTRATIONID, id,
 				"Getting all fields :: enrtry");
-		Map<String, Object> finalMap = new LinkedHashMap<>();
-		String[] sourcePacketNames = packetNames.split(",");
+		Map<String, Object> finalMap = new IdentityFieldMap();
 
 		try {
-			for (String srcPacket : sourcePacketNames) {
-				Packet packet = packetKeeper.getPacket(getPacketInfo(id, srcPacket, source, process));
-				InputStream idJsonStream = ZipUtils.unzipAndGetFile(packet.getPacket(), "ID");
-				if (idJsonStream != null) {
-					byte[] bytearray = IOUtils.toByteArray(idJsonStream);
+			for (byte[] bytearray : getFileFromSubpackets(id, source, process, "ID")) {
+				if (bytearray != null) {
 					String jsonString = new String(bytearray);
 					LinkedHashMap<String, Object> currentIdMap = (LinkedHashMap<String, Object>) mapper
 							.readValue(jsonString, LinkedHashMap.class).get(IDENTITY);
 
-					currentIdMap.keySet().stream().forEach(key -> {
-						Object value = currentIdMap.get(key);
-						if (value != null && (value instanceof Number))
-							finalMap.putIfAbsent(key, value);
-						else if (value != null && (value instanceof String))
-							finalMap.putIfAbsent(key, value.toString().replaceAll("^\"|\"$", ""));
-						else {
-							try {
-								finalMap.putIfAbsent(key,
-										value != null ? JsonUtils.javaObjectToJsonString(currentIdMap.get(key)) : null);
-							} catch (io.mosip.kernel.core.util.exception.JsonProcessingException e) {
-								LOGGER.error(ExceptionUtils.getStackTrace(e));
-								throw new GetAllIdentityException(e.getMessage());
-							}
-						}
-					});
+					currentIdMap.keySet().stream().forEach(key -> finalMap.putIfAbsent(key, getFieldValue(currentIdMap.get(key))));
 				}
 			}
 		} catch (Exception e) {
@@ -174,16 +170,118 @@ public class PacketReaderImpl implements IPacketReader {
 		return finalMap;
 	}
 
+	/**
+	 * Convert an identity value the way it is returned by getAll. Numbers are kept, strings are
+	 * unquoted and objects or arrays are converted to json string.
+	 *
+	 * @param value : the parsed value
+	 * @return the field value
+	 */
+	private static Object getFieldValue(Object value) {
+		if (value != null && (value instanceof Number))
+			return value;
+		else if (value != null && (value instanceof String))
+			return value.toString().replaceAll("^\"|\"$", "");
+		try {
+			return value != null ? JsonUtils.javaObjectToJsonString(value) : null;
+		} catch (io.mosip.kernel.core.util.exception.JsonProcessingException e) {
+			LOGGER.error(ExceptionUtils.getStackTrace(e));
+			throw new GetAllIdentityException(e.getMessage());
+		}
+	}
+
+	/**
+	 * Read only the requested fields from the idobject of the subpackets. The same field from an
+	 * earlier subpacket takes priority, like in getAll.
+	 * The first subpacket is read with the id schema version. The other subpackets are read only if
+	 * the field category in id schema allows them to hold a field not found yet, and the reading stops
+	 * once every field is found.
+	 *
+	 * @param id
+	 * @param fields
+	 * @param source
+	 * @param process
+	 * @return the found fields with their parsed values
+	 */
+	private Map<String, Object> getIdentityFields(String id, List<String> fields, String source, String process) {
+		Subpackets subpackets = new Subpackets(id, source, process);
+		try {
+			return readIdentityFields(subpackets, new HashSet<>(fields));
+		} catch (Exception e) {
+			LOGGER.error(PacketManagerLogger.SESSIONID, PacketManagerLogger.REGISTRATIONID, id,
+					ExceptionUtils.getStackTrace(e));
+			if (e instanceof BaseCheckedException) {
+				BaseCheckedException ex = (BaseCheckedException) e;
+				throw new GetAllIdentityException(ex.getErrorCode(), ex.getErrorText());
+			} else if (e instanceof BaseUncheckedException) {
+				BaseUncheckedException ex = (BaseUncheckedException) e;
+				throw new GetAllIdentityException(ex.getErrorCode(), ex.getErrorText());
+			}
+			throw new GetAllIdentityException(e.getMessage());
+		} finally {
+			subpackets.cancel();
+		}
+	}
+
+	/**
+	 * Read the fields like {@link #getIdentityFields(String, List, String, String)} with the subpackets of a read.
+	 */
+	private Map<String, Object> readIdentityFields(Subpackets subpackets, Set<String> requestedFields) throws Exception {
+		Map<String, Object> finalMap = new HashMap<>();
+		List<String> sourcePacketNames = Arrays.asList(packetNames.split(","));
+		String schemaVersionField = getSchemaVersionField(subpackets.id);
+		Set<String> firstFields = new HashSet<>(requestedFields);
+		if (schemaVersionField != null)
+			firstFields.add(schemaVersionField);
+
+		Object schemaVersion = null;
+		byte[] firstFile = getFileFromSubpackets(subpackets, "ID", sourcePacketNames.subList(0, 1), file -> true).get(0);
+		if (firstFile != null) {
+			Map<String, Object> firstMap = IdentityFieldReader.readFields(firstFile, firstFields);
+			schemaVersion = schemaVersionField != null ? firstMap.get(schemaVersionField) : null;
+			firstMap.forEach((field, value) -> {
+				if (requestedFields.contains(field))
+					finalMap.put(field, value);
+			});
+		}
+
+		// a field which is null is still searched in the other subpackets, like putIfAbsent in getAll
+		Set<String> missingFields = new HashSet<>(requestedFields);
+		finalMap.forEach((field, value) -> {
+			if (value != null)
+				missingFields.remove(field);
+		});
+		if (missingFields.isEmpty() || sourcePacketNames.size() == 1)
+			return finalMap;
+
+		Set<String> packetNamesOfFields = getSubpackets(subpackets.id, missingFields, schemaVersion);
+		List<String> remainingPacketNames = new ArrayList<>();
+		for (String packetName : sourcePacketNames.subList(1, sourcePacketNames.size())) {
+			if (packetNamesOfFields == null || packetNamesOfFields.contains(packetName))
+				remainingPacketNames.add(packetName);
+		}
+		if (!remainingPacketNames.isEmpty()) {
+			getFileFromSubpackets(subpackets, "ID", remainingPacketNames, file -> {
+				if (file != null)
+					IdentityFieldReader.readFields(file, missingFields).forEach((field, value) -> {
+						if (value != null) {
+							finalMap.put(field, value);
+							missingFields.remove(field);
+						} else
+							finalMap.putIfAbsent(field, null);
+					});
+				return !missingFields.isEmpty();
+			});
+		}
+		return finalMap;
+	}
+
 	@Override
 	public String getField(String id, String field, String source, String process) {
 		LOGGER.info(PacketManagerLogger.SESSIONID, PacketManagerLogger.REGISTRATIONID, id,
 				"getField :: for - " + field);
-		Map<String, Object> allFields = getAll(id, source, process);
-		if (allFields != null) {
-			Object fieldObj = allFields.get(field);
-			return fieldObj != null ? fieldObj.toString() : null;
-		}
-		return null;
+		Object fieldObj = getFieldValue(getIdentityFields(id, Collections.singletonList(field), source, process).get(field));
+		return fieldObj != null ? fieldObj.toString() : null;
 	}
 
 	@Override
@@ -191,17 +289,48 @@ public class PacketReaderImpl implements IPacketReader {
 		LOGGER.info(PacketManagerLogger.SESSIONID, PacketManagerLogger.REGISTRATIONID, id,
 				"getFields :: for - " + fields.toString());
 		Map<String, String> result = new HashMap<>();
-		Map<String, Object> allFields = getAll(id, source, process);
-		fields.stream().forEach(
-				field -> result.put(field, allFields.get(field) != null ? allFields.get(field).toString() : null));
+		Map<String, Object> identityFields = getIdentityFields(id, fields, source, process);
+		fields.stream().forEach(field -> {
+			Object fieldObj = getFieldValue(identityFields.get(field));
+			result.put(field, fieldObj != null ? fieldObj.toString() : null);
+		});
 
 		return result;
 	}
 
+	@Override
+	public Map<String, Object> getTypedFields(String id, List<String> fields, String source, String process) {
+		LOGGER.info(PacketManagerLogger.SESSIONID, PacketManagerLogger.REGISTRATIONID, id,
+				"getTypedFields :: for - " + fields.toString());
+		return getIdentityFields(id, fields, source, process);
+	}
+
 	@Override
 	public Document getDocument(String id, String documentName, String source, String process) {
 		LOGGER.info(PacketManagerLogger.SESSIONID, PacketManagerLogger.REGISTRATIONID, id,
 				"getDocument :: for - " + documentName);
+		try {
+			String schemaVersionString = packetReader.getField(id, idSchemaUtils.getIdschemaVersionFromMappingJson(), source, process, false);
+			Double schemaVersion = schemaVersionString != null ? Double.valueOf(schemaVersionString) : null;
+			String documentString = packetReader.getField(id, documentName, source, process, false);
+			if (documentString != null && schemaVersion != null) {
+				JSONObject documentMap = new JSONObject(documentString);
+				String packetName = idSchemaUtils.getSource(documentName, schemaVersion);
+				Packet packet = packetKeeper.getPacket(getPacketInfo(id, packetName, source, process));
+				return createDocument(documentMap, packet);
+			}
+		} catch (Exception e) {
+			LOGGER.error(PacketManagerLogger.SESSIONID, PacketManagerLogger.REGISTRATIONID, id,
+					ExceptionUtils.getStackTrace(e));
+			throw new GetDocumentException(e.getMessage());
+		}
+		return null;
+	}
+
+	@Override
+	public DocumentContent getDocumentContent(String id, String documentName, String source, String process) {
+		LOGGER.info(PacketManagerLogger.SESSIONID, PacketManagerLogger.REGISTRATIONID, id,
+				"getDocumentContent :: for - " + documentName);
 		try {
 			String schemaVersionString = packetReader.getField(id, idSchemaUtils.getIdschemaVersionFromMappingJson(), source, process, false);
 			Double schemaVersion = schemaVersionString != null ? Double.valueOf(schemaVersionString) : null;
@@ -211,15 +340,17 @@ public class PacketReaderImpl implements IPacketReader {
 				String packetName = idSchemaUtils.getSource(documentName, schemaVersion);
 				Packet packet = packetKeeper.getPacket(getPacketInfo(id, packetName, source, process));
 				String value = documentMap.has(VALUE) ? documentMap.get(VALUE).toString() : null;
-				InputStream documentStream = ZipUtils.unzipAndGetFile(packet.getPacket(), value);
+				// the document is streamed from the decrypted packet, it is not extracted first
+				InputStream documentStream = ZipUtils.openFile(packet.getPacket(), value);
 				if (documentStream != null) {
-					Document document = new Document();
-					document.setDocument(IOUtils.toByteArray(documentStream));
-					document.setValue(value);
-					document.setType(documentMap.has(TYPE) ? documentMap.get(TYPE).toString() : null);
-					document.setFormat(documentMap.has(FORMAT) ? documentMap.get(FORMAT).toString() : null);
-					document.setRefNumber(documentMap.has(REFNUMBER) ? documentMap.get(REFNUMBER).toString() : null);
-					return document;
+					DocumentContent documentContent = new DocumentContent();
+					documentContent.setContent(documentStream);
+					documentContent.setLength(ZipUtils.getFileSize(packet.getPacket(), value));
+					documentContent.setValue(value);
+					documentContent.setType(documentMap.has(TYPE) ? documentMap.get(TYPE).toString() : null);
+					documentContent.setFormat(documentMap.has(FORMAT) ? documentMap.get(FORMAT).toString() : null);
+					documentContent.setRefNumber(documentMap.has(REFNUMBER) ? documentMap.get(REFNUMBER).toString() : null);
+					return documentContent;
 				}
 			}
 		} catch (Exception e) {
@@ -246,19 +377,8 @@ public class PacketReaderImpl implements IPacketReader {
 			if (bioString == null || biometricMap == null || biometricMap.isNull(VALUE)) {
 				// biometric file not present in idobject. Search in meta data.
 				Map<String, String> metadataMap = getMetaInfo(id, source, process);
-				String operationsData = metadataMap.get(META_INFO_OPERATIONS_DATA);
-				if (StringUtils.isNotEmpty(operationsData)) {
-					JSONArray jsonArray = new JSONArray(operationsData);
-					for (int i = 0; i < jsonArray.length(); i++) {
-						JSONObject jsonObject = (JSONObject) jsonArray.get(i);
-						if (jsonObject.has(LABEL)
-								&& jsonObject.get(LABEL).toString().equalsIgnoreCase(biometricFieldName)) {
-							packetName = ID;
-							fileName = jsonObject.isNull(VALUE) ? null : jsonObject.get(VALUE).toString();
-							break;
-						}
-					}
-				}
+				packetName = ID;
+				fileName = getBiometricFileFromMetaInfo(metadataMap, biometricFieldName);
 			} else {
 				String idSchemaVersion = packetReader.getField(id,
 						idSchemaUtils.getIdschemaVersionFromMappingJson(), source, process, false);
@@ -271,19 +391,7 @@ public class PacketReaderImpl implements IPacketReader {
 				return null;
 
 			Packet packet = packetKeeper.getPacket(getPacketInfo(id, packetName, source, process));
-			InputStream biometrics = ZipUtils.unzipAndGetFile(packet.getPacket(), fileName);
-			if (biometrics == null)
-				return null;
-			BIR bir = CbeffValidator.getBIRFromXML(IOUtils.toByteArray(biometrics));
-			biometricRecord = new BiometricRecord();
-			if(bir.getOthers() != null) {
-				HashMap<String, String> others = new HashMap<>();
-				bir.getOthers().entrySet().forEach(e -> {
-						others.put(e.getKey(), e.getValue());
-				});
-				biometricRecord.setOthers(others);
-			}
-			biometricRecord.setSegments(filterByModalities(modalities, bir.getBirs()));
+			biometricRecord = createBiometricRecord(id, packet, fileName, modalities);
 		} catch (Exception e) {
 			LOGGER.error(PacketManagerLogger.SESSIONID, PacketManagerLogger.REGISTRATIONID, id,
 					ExceptionUtils.getStackTrace(e));
@@ -302,31 +410,9 @@ public class PacketReaderImpl implements IPacketReader {
 
 	@Override
 	public Map<String, String> getMetaInfo(String id, String source, String process) {
-		Map<String, String> finalMap = new LinkedHashMap<>();
-		String[] sourcePacketNames = packetNames.split(",");
-
+		Subpackets subpackets = new Subpackets(id, source, process);
 		try {
-			for (String packetName : sourcePacketNames) {
-				Packet packet = packetKeeper.getPacket(getPacketInfo(id, packetName, source, process));
-				InputStream idJsonStream = ZipUtils.unzipAndGetFile(packet.getPacket(), "PACKET_META_INFO");
-				if (idJsonStream != null) {
-					byte[] bytearray = IOUtils.toByteArray(idJsonStream);
-					String jsonString = new String(bytearray);
-					LinkedHashMap<String, Object> currentIdMap = (LinkedHashMap<String, Object>) mapper
-							.readValue(jsonString, LinkedHashMap.class).get(IDENTITY);
-
-					currentIdMap.keySet().stream().forEach(key -> {
-						try {
-							finalMap.putIfAbsent(key,
-									currentIdMap.get(key) != null ? JsonUtils
-											.javaObjectToJsonString(currentIdMap.get(key)).replaceAll("^\"|\"$", "")
-											: null);
-						} catch (io.mosip.kernel.core.util.exception.JsonProcessingException e) {
-							throw new GetAllMetaInfoException(e.getMessage());
-						}
-					});
-				}
-			}
+			return readMetaInfo(subpackets);
 		} catch (Exception e) {
 			if (e instanceof BaseCheckedException) {
 				BaseCheckedException ex = (BaseCheckedException) e;
@@ -336,31 +422,136 @@ public class PacketReaderImpl implements IPacketReader {
 				throw new GetAllMetaInfoException(ex.getErrorCode(), ex.getMessage());
 			}
 			throw new GetAllMetaInfoException(e.getMessage());
+		} finally {
+			subpackets.cancel();
 		}
-		return finalMap;
 	}
 
 	@Override
 	public List<Map<String, String>> getAuditInfo(String id, String source, String process) {
 		LOGGER.info(PacketManagerLogger.SESSIONID, PacketManagerLogger.REGISTRATIONID, id, "getAuditInfo :: enrtry");
-		List<Map<String, String>> finalMap = new ArrayList<>();
-		String[] sourcePacketNames = packetNames.split(",");
+		Subpackets subpackets = new Subpackets(id, source, process);
 		try {
-			for (String srcPacket : sourcePacketNames) {
-				Packet packet = packetKeeper.getPacket(getPacketInfo(id, srcPacket, source, process));
-				InputStream auditJson = ZipUtils.unzipAndGetFile(packet.getPacket(), "audit");
-				if (auditJson != null) {
-					byte[] bytearray = IOUtils.toByteArray(auditJson);
-					String jsonString = new String(bytearray);
-					List<Map<String, String>> currentMap = (List<Map<String, String>>) mapper.readValue(jsonString,
-							List.class);
-					finalMap.addAll(currentMap);
+			return readAuditInfo(subpackets);
+		} catch (Exception e) {
+			LOGGER.error(PacketManagerLogger.SESSIONID, PacketManagerLogger.REGISTRATIONID, id,
+					ExceptionUtils.getStackTrace(e));
+			if (e instanceof BaseCheckedException) {
+				BaseCheckedException ex = (BaseCheckedException) e;
+				throw new GetAllIdentityException(ex.getErrorCode(), ex.getMessage());
+			} else if (e instanceof BaseUncheckedException) {
+				BaseUncheckedException ex = (BaseUncheckedException) e;
+				throw new GetAllIdentityException(ex.getErrorCode(), ex.getMessage());
+			}
+			throw new GetAllIdentityException(e.getMessage());
+		} finally {
+			subpackets.cancel();
+		}
+	}
+
+	/**
+	 * Read all the items of the plan. Every subpacket needed is fetched and decrypted once and shared
+	 * by the fields, documents, biometrics, meta info and audits.
+	 */
+	@Override
+	public ReadResult read(String id, ReadPlan plan, String source, String process) {
+		LOGGER.info(PacketManagerLogger.SESSIONID, PacketManagerLogger.REGISTRATIONID, id,
+				"read :: for - " + plan.toString());
+		List<String> fields = plan.getFields() != null ? plan.getFields() : Collections.emptyList();
+		List<String> documents = plan.getDocuments() != null ? plan.getDocuments() : Collections.emptyList();
+		Map<String, List<String>> biometrics = plan.getBiometrics() != null ? plan.getBiometrics() : Collections.emptyMap();
+		ReadResult result = new ReadResult();
+		Subpackets subpackets = new Subpackets(id, source, process);
+		try {
+			// meta info and audits are read from every subpacket, so all of them are fetched together
+			if (plan.isMetaInfo() || plan.isAudits())
+				subpackets.fetch(Arrays.asList(packetNames.split(",")));
+
+			Set<String> identityFields = new HashSet<>(fields);
+			identityFields.addAll(documents);
+			identityFields.addAll(biometrics.keySet());
+			String schemaVersionField = documents.isEmpty() && biometrics.isEmpty() ? null : getSchemaVersionField(id);
+			if (schemaVersionField != null)
+				identityFields.add(schemaVersionField);
+			Map<String, Object> identity = identityFields.isEmpty() ? Collections.emptyMap()
+					: readIdentityFields(subpackets, identityFields);
+			Object schemaVersionValue = schemaVersionField != null ? identity.get(schemaVersionField) : null;
+			Double schemaVersion = schemaVersionValue != null ? Double.valueOf(schemaVersionValue.toString()) : null;
+
+			if (!fields.isEmpty()) {
+				Map<String, String> values = new HashMap<>();
+				for (String field : fields) {
+					Object fieldObj = getFieldValue(identity.get(field));
+					values.put(field, fieldObj != null ? fieldObj.toString() : null);
+				}
+				result.setFields(values);
+			}
+
+			if (!documents.isEmpty()) {
+				Map<String, Document> values = new LinkedHashMap<>();
+				// a document fails with the same error as getDocument
+				try {
+					for (String documentName : documents) {
+						Object documentValue = getFieldValue(identity.get(documentName));
+						Document document = null;
+						if (documentValue != null && schemaVersion != null) {
+							String packetName = idSchemaUtils.getSource(documentName, schemaVersion);
+							document = createDocument(new JSONObject(documentValue.toString()), subpackets.get(packetName));
+						}
+						values.put(documentName, document);
+					}
+				} catch (Exception e) {
+					throw new GetDocumentException(e.getMessage());
+				}
+				result.setDocuments(values);
+			}
+
+			Map<String, String> metaInfo = plan.isMetaInfo() ? readMetaInfo(subpackets) : null;
+			if (!biometrics.isEmpty()) {
+				Map<String, BiometricRecord> values = new LinkedHashMap<>();
+				// a biometric fails with the same error as getBiometric
+				try {
+					for (Map.Entry<String, List<String>> entry : biometrics.entrySet()) {
+						Object biometricValue = identity.get(entry.getKey());
+						Object file = biometricValue instanceof Map ? ((Map<?, ?>) biometricValue).get(VALUE) : null;
+						String packetName;
+						String fileName;
+						if (file == null) {
+							// biometric file not present in idobject. Search in meta data.
+							if (metaInfo == null)
+								metaInfo = readMetaInfo(subpackets);
+							packetName = ID;
+							fileName = getBiometricFileFromMetaInfo(metaInfo, entry.getKey());
+						} else {
+							packetName = idSchemaUtils.getSource(entry.getKey(), schemaVersion);
+							fileName = file.toString();
+						}
+						values.put(entry.getKey(), packetName == null || fileName == null ? null
+								: createBiometricRecord(id, subpackets.get(packetName), fileName, entry.getValue()));
+					}
+				} catch (Exception e) {
+					if (e instanceof BaseCheckedException) {
+						BaseCheckedException ex = (BaseCheckedException) e;
+						throw new GetBiometricException(ex.getErrorCode(), ex.getMessage());
+					} else if (e instanceof BaseUncheckedException) {
+						BaseUncheckedException ex = (BaseUncheckedException) e;
+						throw new GetBiometricException(ex.getErrorCode(), ex.getMessage());
+					}
+					throw new GetBiometricException(e.getMessage());
 				}
+				result.setBiometrics(values);
 			}
+
+			if (plan.isMetaInfo())
+				result.setMetaInfo(metaInfo);
+			if (plan.isAudits())
+				result.setAudits(readAuditInfo(subpackets));
 		} catch (Exception e) {
 			LOGGER.error(PacketManagerLogger.SESSIONID, PacketManagerLogger.REGISTRATIONID, id,
 					ExceptionUtils.getStackTrace(e));
-			if (e instanceof BaseCheckedException) {
+			if (e instanceof GetDocumentException || e instanceof GetBiometricException) {
+				throw (BaseUncheckedException) e;
+			} else if (e instanceof BaseCheckedException) {
 				BaseCheckedException ex = (BaseCheckedException) e;
 				throw new GetAllIdentityException(ex.getErrorCode(), ex.getMessage());
 			} else if (e instanceof BaseUncheckedException) {
@@ -368,10 +559,189 @@ public class PacketReaderImpl implements IPacketReader {
 				throw new GetAllIdentityException(ex.getErrorCode(), ex.getMessage());
 			}
 			throw new GetAllIdentityException(e.getMessage());
+		} finally {
+			subpackets.cancel();
+		}
+		return result;
+	}
+
+	private Map<String, String> readMetaInfo(Subpackets subpackets) throws Exception {
+		Map<String, String> finalMap = new LinkedHashMap<>();
+		for (byte[] bytearray : getFileFromSubpackets(subpackets, "PACKET_META_INFO",
+				Arrays.asList(packetNames.split(",")), file -> true)) {
+			if (bytearray != null) {
+				String jsonString = new String(bytearray);
+				LinkedHashMap<String, Object> currentIdMap = (LinkedHashMap<String, Object>) mapper
+						.readValue(jsonString, LinkedHashMap.class).get(IDENTITY);
+
+				currentIdMap.keySet().stream().forEach(key -> {
+					try {
+						finalMap.putIfAbsent(key,
+								currentIdMap.get(key) != null ? JsonUtils
+										.javaObjectToJsonString(currentIdMap.get(key)).replaceAll("^\"|\"$", "")
+										: null);
+					} catch (io.mosip.kernel.core.util.exception.JsonProcessingException e) {
+						throw new GetAllMetaInfoException(e.getMessage());
+					}
+				});
+			}
 		}
 		return finalMap;
 	}
 
+	private List<Map<String, String>> readAuditInfo(Subpackets subpackets) throws Exception {
+		List<Map<String, String>> finalMap = new ArrayList<>();
+		for (byte[] bytearray : getFileFromSubpackets(subpackets, "audit",
+				Arrays.asList(packetNames.split(",")), file -> true)) {
+			if (bytearray != null) {
+				String jsonString = new String(bytearray);
+				List<Map<String, String>> currentMap = (List<Map<String, String>>) mapper.readValue(jsonString,
+						List.class);
+				finalMap.addAll(currentMap);
+			}
+		}
+		return finalMap;
+	}
+
+	private Document createDocument(JSONObject documentMap, Packet packet) throws Exception {
+		String value = documentMap.has(VALUE) ? documentMap.get(VALUE).toString() : null;
+		InputStream documentStream = ZipUtils.unzipAndGetFile(packet.getPacket(), value);
+		if (documentStream == null)
+			return null;
+		Document document = new Document();
+		document.setDocument(IOUtils.toByteArray(documentStream));
+		document.setValue(value);
+		document.setType(documentMap.has(TYPE) ? documentMap.get(TYPE).toString() : null);
+		document.setFormat(documentMap.has(FORMAT) ? documentMap.get(FORMAT).toString() : null);
+		document.setRefNumber(documentMap.has(REFNUMBER) ? documentMap.get(REFNUMBER).toString() : null);
+		return document;
+	}
+
+	/**
+	 * Search the biometric file of a field in the operations data of the meta info.
+	 *
+	 * @return the file name, null if not present
+	 */
+	private String getBiometricFileFromMetaInfo(Map<String, String> metadataMap, String biometricFieldName)
+			throws JSONException {
+		String operationsData = metadataMap.get(META_INFO_OPERATIONS_DATA);
+		if (StringUtils.isNotEmpty(operationsData)) {
+			JSONArray jsonArray = new JSONArray(operationsData);
+			for (int i = 0; i < jsonArray.length(); i++) {
+				JSONObject jsonObject = (JSONObject) jsonArray.get(i);
+				if (jsonObject.has(LABEL)
+						&& jsonObject.get(LABEL).toString().equalsIgnoreCase(biometricFieldName))
+					return jsonObject.isNull(VALUE) ? null : jsonObject.get(VALUE).toString();
+			}
+		}
+		return null;
+	}
+
+	private BiometricRecord createBiometricRecord(String id, Packet packet, String fileName, List<String> modalities)
+			throws Exception {
+		InputStream biometrics = ZipUtils.unzipAndGetFile(packet.getPacket(), fileName);
+		if (biometrics == null)
+			return null;
+		ModalityMatcher matcher = ModalityMatcher.of(modalities);
+		BIR bir = CbeffValidator.getBIRFromXML(getRequestedSegments(id, IOUtils.toByteArray(biometrics), matcher));
+		BiometricRecord biometricRecord = new BiometricRecord();
+		if(bir.getOthers() != null) {
+			HashMap<String, String> others = new HashMap<>();
+			bir.getOthers().entrySet().forEach(e -> {
+					others.put(e.getKey(), e.getValue());
+			});
+			biometricRecord.setOthers(others);
+		}
+		biometricRecord.setSegments(matcher.filter(bir.getBirs()));
+		return biometricRecord;
+	}
+
+	/**
+	 * Fetch all subpackets concurrently and read one file from each of them.
+	 *
+	 * @param id
+	 * @param source
+	 * @param process
+	 * @param fileName : the file name without extension
+	 * @return the file content per subpacket in the configured packet name order, null when the file is absent
+	 * @throws Exception the first failure in packet name order
+	 */
+	private List<byte[]> getFileFromSubpackets(String id, String source, String process, String fileName)
+			throws Exception {
+		Subpackets subpackets = new Subpackets(id, source, process);
+		try {
+			return getFileFromSubpackets(subpackets, fileName, Arrays.asList(packetNames.split(",")), file -> true);
+		} finally {
+			// fetches not started yet are not needed anymore when one of them failed
+			subpackets.cancel();
+		}
+	}
+
+	/**
+	 * Fetch the given subpackets concurrently and read one file from each of them. Every file is passed to
+	 * the consumer in packet name order, the remaining subpackets are not read once it returns false.
+	 *
+	 * @param subpackets        : the subpackets of the read
+	 * @param fileName          : the file name without extension
+	 * @param sourcePacketNames : the subpackets to read
+	 * @param consumer          : returns true to continue with the next subpacket
+	 * @return the file content per read subpacket, null when the file is absent
+	 * @throws Exception the first failure in packet name order
+	 */
+	private List<byte[]> getFileFromSubpackets(Subpackets subpackets, String fileName,
+			List<String> sourcePacketNames, SubpacketFileConsumer consumer) throws Exception {
+		long startTime = System.nanoTime();
+		subpackets.fetch(sourcePacketNames);
+
+		List<byte[]> files = new ArrayList<>(sourcePacketNames.size());
+		for (String packetName : sourcePacketNames) {
+			InputStream fileStream = ZipUtils.unzipAndGetFile(subpackets.get(packetName).getPacket(), fileName);
+			byte[] file = fileStream != null ? IOUtils.toByteArray(fileStream) : null;
+			files.add(file);
+			if (!consumer.accept(file))
+				break;
+		}
+		LOGGER.debug(PacketManagerLogger.SESSIONID, PacketManagerLogger.REGISTRATIONID, subpackets.id,
+				"Read " + fileName + " from " + files.size() + " subpackets in "
+						+ (System.nanoTime() - startTime) / 1000000 + " ms");
+		return files;
+	}
+
+	/**
+	 * Get the subpackets which can hold one of the fields according to the id schema.
+	 *
+	 * @return the subpacket names, null if unknown and every subpacket has to be read
+	 */
+	private Set<String> getSubpackets(String id, Set<String> fields, Object schemaVersion) {
+		if (schemaVersion == null)
+			return null;
+		try {
+			Double version = Double.valueOf(schemaVersion.toString());
+			Set<String> subpackets = new HashSet<>();
+			for (String field : fields) {
+				Set<String> fieldSubpackets = idSchemaUtils.getSubpackets(field, version);
+				if (fieldSubpackets == null)
+					return null;
+				subpackets.addAll(fieldSubpackets);
+			}
+			return subpackets;
+		} catch (Exception e) {
+			LOGGER.warn(PacketManagerLogger.SESSIONID, PacketManagerLogger.REGISTRATIONID, id,
+					"Unable to get subpackets from id schema : " + e.getMessage());
+			return null;
+		}
+	}
+
+	private String getSchemaVersionField(String id) {
+		try {
+			return idSchemaUtils.getIdschemaVersionFromMappingJson();
+		} catch (Exception e) {
+			LOGGER.warn(PacketManagerLogger.SESSIONID, PacketManagerLogger.REGISTRATIONID, id,
+					"Unable to get id schema version field : " + e.getMessage());
+			return null;
+		}
+	}
+
 	private PacketInfo getPacketInfo(String id, String packetName, String source, String process) {
 		PacketInfo packetInfo = new PacketInfo();
 		packetInfo.setId(id);
@@ -381,36 +751,91 @@ public class PacketReaderImpl implements IPacketReader {
 		return packetInfo;
 	}
 
+	/**
+	 * Remove the segments which are not requested from the cbeff before it is unmarshalled.
+	 * If the cbeff can not be read as a stream, it is unmarshalled as it is.
+	 */
+	private byte[] getRequestedSegments(String id, byte[] cbeff, ModalityMatcher matcher) {
+		try {
+			return CbeffModalityFilter.filter(cbeff, matcher);
+		} catch (XMLStreamException e) {
+			LOGGER.warn(PacketManagerLogger.SESSIONID, PacketManagerLogger.REGISTRATIONID, id,
+					"Unable to filter cbeff by modalities : " + e.getMessage());
+			return cbeff;
+		}
+	}
+
 	public List<BIR> filterByModalities(List<String> modalities,
 			List<BIR> birList) {
-		List<BIR> segments = new ArrayList<>();
-		if (CollectionUtils.isEmpty(modalities)) {
-			return birList;
-		} else {
-			// first search modalities in subtype and if not present search in type
-			for (BIR bir : birList) {
-				if (CollectionUtils.isNotEmpty(bir.getBdbInfo().getSubtype())
-						&& isModalityPresentInTypeSubtype(bir.getBdbInfo().getSubtype(), modalities)) {
-						segments.add(bir);
-				} else {
-					for (BiometricType type : bir.getBdbInfo().getType()) {
-						if (isModalityPresentInTypeSubtype(Lists.newArrayList(type.value()), modalities))
-							segments.add(bir);
-					}
-				}
+		return ModalityMatcher.of(modalities).filter(birList);
+	}
+
+	/**
+	 * The subpackets of a packet used by one read. A subpacket is fetched and decrypted once, when it is
+	 * first needed, and then shared by every file read from it.
+	 */
+	private class Subpackets {
+
+		private final String id;
+		private final String source;
+		private final String process;
+		private final Map<String, Future<Packet>> packets = new HashMap<>();
+
+		private Subpackets(String id, String source, String process) {
+			this.id = id;
+			this.source = source;
+			this.process = process;
+		}
+
+		/**
+		 * Start fetching the subpackets which are not fetched yet.
+		 */
+		private void fetch(List<String> packetNamesToFetch) {
+			for (String packetName : packetNamesToFetch) {
+				Future<Packet> packet = packets.get(packetName);
+				if (packet == null || packet.isCancelled())
+					packets.put(packetName, subpacketReadExecutor.submit(
+							() -> packetKeeper.getPacket(getPacketInfo(id, packetName, source, process))));
+			}
+		}
+
+		/**
+		 * Get a subpacket, fetching it if needed.
+		 */
+		private Packet get(String packetName) throws Exception {
+			fetch(Collections.singletonList(packetName));
+			try {
+				return packets.get(packetName).get();
+			} catch (ExecutionException e) {
+				if (e.getCause() instanceof Exception)
+					throw (Exception) e.getCause();
+				throw e;
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				throw e;
 			}
 		}
-			return segments;
-	}
 
-	private boolean isModalityPresentInTypeSubtype(List<String> typeSubtype, List<String> modalities) {
-		boolean isPresent = false;
-		for (String modality : modalities) {
-			String[] modalityArray = modality.split(" ");
-			if (ArrayUtils.isNotEmpty(modalityArray) && ListUtils.isEqualList(typeSubtype, Arrays.asList(modalityArray)))
-				isPresent = true;
+		/**
+		 * Drop the fetches which are not started yet.
+		 */
+		private void cancel() {
+			packets.values().forEach(packet -> packet.cancel(false));
 		}
-		return isPresent;
+	}
+
+	/**
+	 * Consumer of the file read from a subpacket.
+	 */
+	@FunctionalInterface
+	private interface SubpacketFileConsumer {
+
+		/**
+		 * @param file : the file content, null when absent
+		 * @return true to continue with the next subpacket
+		 * @throws Exception if the file can not be read
+		 */
+		boolean accept(byte[] file) throws Exception;
 	}
 
 }
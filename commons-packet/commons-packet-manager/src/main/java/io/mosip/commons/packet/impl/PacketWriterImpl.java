@@ -3,6 +3,7 @@ package io.mosip.commons.packet.impl;
 import io.mosip.commons.packet.constants.ErrorCode;
 import io.mosip.commons.packet.constants.LoggerFileConstant;
 import io.mosip.commons.packet.constants.PacketManagerConstants;
+import io.mosip.commons.packet.dto.ContainerDirectory;
 import io.mosip.commons.packet.dto.Document;
 import io.mosip.commons.packet.dto.Packet;
 import io.mosip.commons.packet.dto.PacketInfo;
@@ -13,8 +14,10 @@ import io.mosip.commons.packet.dto.packet.RegistrationPacket;
 import io.mosip.commons.packet.exception.PacketCreatorException;
 import io.mosip.commons.packet.keeper.PacketKeeper;
 import io.mosip.commons.packet.spi.IPacketWriter;
+import io.mosip.commons.packet.util.PacketHelper;
 import io.mosip.commons.packet.util.PacketManagerHelper;
 import io.mosip.commons.packet.util.PacketManagerLogger;
+import io.mosip.kernel.biometrics.entities.BIR;
 import io.mosip.kernel.biometrics.entities.BiometricRecord;
 import io.mosip.kernel.core.exception.ExceptionUtils;
 import io.mosip.kernel.core.logger.spi.Logger;
@@ -151,12 +154,16 @@ public class PacketWriterImpl implements IPacketWriter {
                     .append(refId)
                     .append("-")
                     .append(getcurrentTimeStamp()).toString();
+            ContainerDirectory directory = new ContainerDirectory();
+            directory.setSource(source);
+            directory.setProcess(process);
+            directory.setIteration(PacketHelper.getIteration(process));
             for (String subPacketName : identityProperties.keySet()) {
                 LOGGER.info(LoggerFileConstant.SESSIONID.toString(), LoggerFileConstant.ID.toString(),
                         id, "Started Subpacket: " + subPacketName);
                 List<Object> schemaFields = identityProperties.get(subPacketName);
                 byte[] subpacketBytes = createSubpacket(Double.valueOf(version), schemaFields, defaultSubpacketName.equalsIgnoreCase(subPacketName),
-                        id, offlineMode);
+                        id, offlineMode, directory);
 
                 PacketInfo packetInfo = new PacketInfo();
                 packetInfo.setProviderName(this.getClass().getSimpleName());
@@ -180,6 +187,8 @@ public class PacketWriterImpl implements IPacketWriter {
                         id, "Completed Subpacket: " + subPacketName);
 
                 if (counter == identityProperties.keySet().size()) {
+                    // the directory is stored before packing so that it is part of the container
+                    packetKeeper.putDirectory(packetInfo.getId(), directory);
                     boolean res = packetKeeper.pack(packetInfo.getId(), packetInfo.getSource(),
                             packetInfo.getProcess(), packetInfo.getRefId());
                     if (!res)
@@ -205,8 +214,8 @@ public class PacketWriterImpl implements IPacketWriter {
     }
 
     @SuppressWarnings("unchecked")
-    private byte[] createSubpacket(double version, List<Object> schemaFields, boolean isDefault, String id, boolean offlineMode)
-            throws PacketCreatorException {
+    private byte[] createSubpacket(double version, List<Object> schemaFields, boolean isDefault, String id, boolean offlineMode,
+                                   ContainerDirectory directory) throws PacketCreatorException {
         RegistrationPacket registrationPacket = registrationPacketMap.get(id);
         ByteArrayOutputStream out = new ByteArrayOutputStream();
         try (ZipOutputStream subpacketZip = new ZipOutputStream(new BufferedOutputStream(out))) {
@@ -226,8 +235,10 @@ public class PacketWriterImpl implements IPacketWriter {
                         id, "Adding field : " + fieldName);
                 switch ((String) field.get(PacketManagerConstants.SCHEMA_TYPE)) {
                     case PacketManagerConstants.BIOMETRICS_TYPE:
-                        if (registrationPacket.getBiometrics().get(fieldName) != null)
+                        if (registrationPacket.getBiometrics().get(fieldName) != null) {
                             addBiometricDetailsToZip(registrationPacket, fieldName, identity, subpacketZip, hashSequences, offlineMode);
+                            addBiometricsToDirectory(directory, fieldName, registrationPacket.getBiometrics().get(fieldName));
+                        }
                         break;
                     case PacketManagerConstants.DOCUMENTS_TYPE:
                         if (registrationPacket.getDocuments().get(fieldName) != null)
@@ -240,6 +251,7 @@ public class PacketWriterImpl implements IPacketWriter {
                 }
             }
 
+            directory.getFields().addAll(identity.keySet());
             byte[] identityBytes = getIdentity(identity).getBytes();
             addEntryToZip(registrationPacket, PacketManagerConstants.IDENTITY_FILENAME_WITH_EXT, identityBytes, subpacketZip);
             addHashSequenceWithSource(PacketManagerConstants.DEMOGRAPHIC_SEQ, PacketManagerConstants.IDENTITY_FILENAME, identityBytes,
@@ -290,6 +302,23 @@ public class PacketWriterImpl implements IPacketWriter {
         }
     }
 
+    private static void addBiometricsToDirectory(ContainerDirectory directory, String fieldName, BiometricRecord biometricRecord) {
+        if (biometricRecord.getSegments() == null || biometricRecord.getSegments().isEmpty())
+            return;
+        Map<String, List<String>> subtypesByType = directory.getBiometrics().computeIfAbsent(fieldName, k -> new HashMap<>());
+        for (BIR bir : biometricRecord.getSegments()) {
+            if (bir.getBdbInfo() == null || bir.getBdbInfo().getType() == null || bir.getBdbInfo().getType().isEmpty())
+                continue;
+            List<String> subtypes = subtypesByType.computeIfAbsent(bir.getBdbInfo().getType().iterator().next().value(),
+                    k -> new ArrayList<>());
+            if (bir.getBdbInfo().getSubtype() != null) {
+                String subtype = String.join(" ", bir.getBdbInfo().getSubtype()).strip();
+                if (!subtype.isEmpty() && !subtypes.contains(subtype))
+                    subtypes.add(subtype);
+            }
+        }
+    }
+
     private void addHashSequenceWithSource(String sequenceType, String name, byte[] bytes,
                                            Map<String, HashSequenceMetaInfo> hashSequences) {
         if (!hashSequences.containsKey(sequenceType))
@@ -0,0 +1,38 @@
+package io.mosip.commons.packet.keeper;
+
+import io.mosip.commons.packet.exception.PacketKeeperException;
+
+/**
+ * Coordinates subpacket downloads across the nodes of a cluster so that only one node
+ * downloads a subpacket at a time and the others reuse its encrypted copy.
+ * Only encrypted subpackets are shared, every node decrypts and verifies its own copy
+ * after the coordination is over.
+ */
+public interface ClusterFetchCoordinator {
+
+    /**
+     * Download the encrypted subpacket once for the whole cluster.
+     *
+     * @param key        : the subpacket key
+     * @param downloader : downloads the encrypted subpacket from the store
+     * @return the encrypted subpacket, downloaded by this node or shared by another one
+     * @throws PacketKeeperException
+     */
+    byte[] fetch(String key, SubpacketDownloader downloader) throws PacketKeeperException;
+
+    /**
+     * Discard any shared subpacket for the key.
+     *
+     * @param key : the subpacket key
+     */
+    void invalidate(String key);
+
+    @FunctionalInterface
+    interface SubpacketDownloader {
+        /**
+         * @return the encrypted subpacket read from the store
+         * @throws PacketKeeperException
+         */
+        byte[] download() throws PacketKeeperException;
+    }
+}
@@ -0,0 +1,118 @@
+package io.mosip.commons.packet.keeper;
+
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import com.hazelcast.core.HazelcastInstance;
+import com.hazelcast.core.IMap;
+
+import io.mosip.commons.packet.exception.PacketKeeperException;
+import io.mosip.commons.packet.util.PacketManagerLogger;
+import io.mosip.kernel.core.exception.ExceptionUtils;
+import io.mosip.kernel.core.logger.spi.Logger;
+
+/**
+ * Cluster wide single flight using a hazelcast map lock per subpacket key.
+ * The node holding the lock downloads the subpacket and shares the encrypted copy for a short time so that
+ * nodes waiting on the same lock do not repeat the download. The lock is released before the subpacket is
+ * decrypted, and the decrypted subpacket never leaves the node.
+ */
+@Component
+@ConditionalOnClass(name = "com.hazelcast.core.HazelcastInstance")
+@ConditionalOnProperty(value = "packetmanager.singleflight.cluster.enabled", havingValue = "true")
+public class HazelcastFetchCoordinator implements ClusterFetchCoordinator {
+
+    private static Logger LOGGER = PacketManagerLogger.getLogger(HazelcastFetchCoordinator.class);
+
+    @Autowired
+    private HazelcastInstance hazelcastInstance;
+
+    @Value("${packetmanager.singleflight.cluster.map-name:packetmanager-inflight-subpackets}")
+    private String mapName;
+
+    @Value("${packetmanager.singleflight.cluster.lock-wait-seconds:60}")
+    private long lockWaitSeconds;
+
+    @Value("${packetmanager.singleflight.cluster.lock-lease-seconds:120}")
+    private long lockLeaseSeconds;
+
+    @Value("${packetmanager.singleflight.cluster.result-ttl-seconds:30}")
+    private long resultTtlSeconds;
+
+    @Override
+    public byte[] fetch(String key, SubpacketDownloader downloader) throws PacketKeeperException {
+        IMap<String, byte[]> inFlight;
+        boolean locked = false;
+        byte[] shared = null;
+        try {
+            inFlight = hazelcastInstance.getMap(mapName);
+            locked = inFlight.tryLock(key, lockWaitSeconds, TimeUnit.SECONDS, lockLeaseSeconds, TimeUnit.SECONDS);
+            if (locked)
+                shared = inFlight.get(key);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return downloader.download();
+        } catch (RuntimeException e) {
+            // the cluster is only an optimization, fall back to a local download
+            LOGGER.warn(PacketManagerLogger.SESSIONID, PacketManagerLogger.REGISTRATIONID, key,
+                    "Cluster single flight unavailable : " + ExceptionUtils.getStackTrace(e));
+            if (locked)
+                unlock(key);
+            return downloader.download();
+        }
+
+        if (shared != null) {
+            LOGGER.debug(PacketManagerLogger.SESSIONID, PacketManagerLogger.REGISTRATIONID, key,
+                    "Subpacket downloaded by another node reused");
+            unlock(key);
+            return shared;
+        }
+
+        // only the download and the sharing run under the lock, decryption and verification run after it
+        try {
+            byte[] encryptedSubpacket = downloader.download();
+            if (locked)
+                share(inFlight, key, encryptedSubpacket);
+            return encryptedSubpacket;
+        } finally {
+            if (locked)
+                unlock(key);
+        }
+    }
+
+    /**
+     * Share the encrypted subpacket. A failure only costs the other nodes a download, the fetched packet is still returned.
+     */
+    private void share(IMap<String, byte[]> inFlight, String key, byte[] encryptedSubpacket) {
+        try {
+            inFlight.set(key, encryptedSubpacket, resultTtlSeconds, TimeUnit.SECONDS);
+        } catch (RuntimeException e) {
+            LOGGER.warn(PacketManagerLogger.SESSIONID, PacketManagerLogger.REGISTRATIONID, key,
+                    "Unable to share subpacket : " + ExceptionUtils.getStackTrace(e));
+        }
+    }
+
+    @Override
+    public void invalidate(String key) {
+        try {
+            hazelcastInstance.getMap(mapName).delete(key);
+        } catch (RuntimeException e) {
+            LOGGER.warn(PacketManagerLogger.SESSIONID, PacketManagerLogger.REGISTRATIONID, key,
+                    "Unable to invalidate shared subpacket : " + e.getMessage());
+        }
+    }
+
+    private void unlock(String key) {
+        try {
+            hazelcastInstance.getMap(mapName).unlock(key);
+        } catch (RuntimeException e) {
+            LOGGER.warn(PacketManagerLogger.SESSIONID, PacketManagerLogger.REGISTRATIONID, key,
+                    "Unable to release cluster lock : " + e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,445 @@
+package io.mosip.commons.packet.keeper;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import javax.annotation.PostConstruct;
+
+import org.apache.commons.io.IOUtils;
+import org.apache.commons.io.input.TeeInputStream;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import io.mosip.commons.packet.constants.PacketManagerConstants;
+import io.mosip.commons.packet.util.PacketManagerLogger;
+import io.mosip.kernel.core.exception.ExceptionUtils;
+import io.mosip.kernel.core.logger.spi.Logger;
+
+/**
+ * Node local disk tier in front of the configured object store.
+ * Encrypted subpackets are kept in the same id/source/process layout as the posix adapter together with
+ * their metadata. The tier is bounded by bytes and evicts the least recently used subpacket. An entry is
+ * only served when its encrypted hash still matches the metadata in the object store.
+ * Failures of the tier are logged and never fail a read, the object store is used instead.
+ */
+@Component
+public class LocalDiskTier {
+
+    private static Logger LOGGER = PacketManagerLogger.getLogger(LocalDiskTier.class);
+    private static final String SEPARATOR = "/";
+    private static final String OBJECT_EXTENSION = ".zip";
+    private static final String METADATA_EXTENSION = ".json";
+    private static final String TEMP_EXTENSION = ".tmp";
+
+    @Value("${packetmanager.objectstore.local-tier.enabled:false}")
+    private boolean enabled;
+
+    @Value("${packetmanager.objectstore.local-tier.directory:${java.io.tmpdir}/packetmanager-tier}")
+    private String directory;
+
+    @Value("${packetmanager.objectstore.local-tier.max-size-bytes:1073741824}")
+    private long maxSizeBytes;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private Path root;
+
+    /**
+     * access ordered map, the eldest entry is the least recently used one.
+     */
+    private final LinkedHashMap<String, TierEntry> entries = new LinkedHashMap<>(16, 0.75f, true);
+
+    private long currentSizeBytes;
+
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong evictions = new AtomicLong();
+
+    /**
+     * Rebuild the index from the files left by an earlier run.
+     */
+    @PostConstruct
+    public void init() {
+        if (!enabled)
+            return;
+        root = Paths.get(directory).toAbsolutePath().normalize();
+        List<TierEntry> found = new ArrayList<>();
+        try {
+            Files.createDirectories(root);
+            List<Path> files;
+            try (Stream<Path> paths = Files.walk(root)) {
+                files = paths.filter(Files::isRegularFile).collect(Collectors.toList());
+            }
+            for (Path file : files) {
+                String name = file.getFileName().toString();
+                if (name.endsWith(TEMP_EXTENSION))
+                    Files.deleteIfExists(file);
+                else if (name.endsWith(OBJECT_EXTENSION) && !Files.exists(getMetadataPath(file)))
+                    Files.deleteIfExists(file);
+                else if (name.endsWith(METADATA_EXTENSION)) {
+                    TierEntry entry = load(file);
+                    if (entry != null)
+                        found.add(entry);
+                }
+            }
+        } catch (IOException e) {
+            LOGGER.error(PacketManagerLogger.SESSIONID, PacketManagerLogger.REGISTRATIONID, null,
+                    "Local tier could not be loaded, tier is disabled : " + ExceptionUtils.getStackTrace(e));
+            enabled = false;
+            return;
+        }
+        found.sort(Comparator.comparingLong(entry -> entry.lastModified));
+        synchronized (entries) {
+            for (TierEntry entry : found) {
+                entries.put(entry.key, entry);
+                currentSizeBytes += entry.size;
+            }
+            evict();
+        }
+        LOGGER.info(PacketManagerLogger.SESSIONID, PacketManagerLogger.REGISTRATIONID, null,
+                "Local tier loaded with " + getEntryCount() + " subpackets from " + root);
+    }
+
+    private TierEntry load(Path metadataFile) {
+        String fileName = metadataFile.getFileName().toString();
+        Path object = metadataFile.resolveSibling(
+                fileName.substring(0, fileName.length() - METADATA_EXTENSION.length()) + OBJECT_EXTENSION);
+        try {
+            if (!Files.exists(object)) {
+                Files.deleteIfExists(metadataFile);
+                return null;
+            }
+            Map<String, Object> metaInfo = objectMapper.readValue(metadataFile.toFile(), Map.class);
+            String encryptedHash = (String) metaInfo.get(PacketManagerConstants.ENCRYPTED_HASH);
+            if (encryptedHash == null) {
+                deleteQuietly(object);
+                deleteQuietly(metadataFile);
+                return null;
+            }
+            String relative = root.relativize(object).toString().replace(object.getFileSystem().getSeparator(), SEPARATOR);
+            String key = relative.substring(0, relative.length() - OBJECT_EXTENSION.length());
+            return new TierEntry(key, object, metadataFile, encryptedHash, Files.size(object),
+                    Files.getLastModifiedTime(object).toMillis());
+        } catch (IOException | RuntimeException e) {
+            LOGGER.warn(PacketManagerLogger.SESSIONID, PacketManagerLogger.REGISTRATIONID, null,
+                    "Ignoring unreadable local tier entry " + metadataFile + " : " + e.getMessage());
+            deleteQuietly(object);
+            deleteQuietly(metadataFile);
+            return null;
+        }
+    }
+
+    /**
+     * Check if the subpacket is present in the tier irrespective of the encrypted hash.
+     *
+     * @param key : the subpacket key
+     * @return true if present
+     */
+    public boolean contains(String key) {
+        if (!enabled)
+            return false;
+        synchronized (entries) {
+            return entries.containsKey(key);
+        }
+    }
+
+    /**
+     * Open the locally stored encrypted subpacket.
+     *
+     * @param key           : the subpacket key
+     * @param encryptedHash : the encrypted hash currently stored in the object store metadata
+     * @return the stream or null if not present or stale
+     */
+    public InputStream open(String key, String encryptedHash) {
+        if (!enabled)
+            return null;
+        TierEntry entry;
+        synchronized (entries) {
+            entry = entries.get(key);
+            if (entry != null && !entry.encryptedHash.equals(encryptedHash)) {
+                remove(key);
+                entry = null;
+            }
+        }
+        if (entry != null) {
+            try {
+                InputStream in = Files.newInputStream(entry.object);
+                hits.incrementAndGet();
+                return in;
+            } catch (IOException e) {
+                LOGGER.warn(PacketManagerLogger.SESSIONID, PacketManagerLogger.REGISTRATIONID, key,
+                        "Local tier entry could not be opened : " + e.getMessage());
+                invalidate(key);
+            }
+        }
+        misses.incrementAndGet();
+        return null;
+    }
+
+    /**
+     * Get the length of the locally stored encrypted subpacket.
+     *
+     * @param key : the subpacket key
+     * @return the length in bytes or -1 if not present
+     */
+    public long getSize(String key) {
+        if (!enabled)
+            return -1;
+        synchronized (entries) {
+            TierEntry entry = entries.get(key);
+            return entry != null ? entry.size : -1;
+        }
+    }
+
+    /**
+     * Start storing a subpacket which is being read from the object store.
+     *
+     * @param key : the subpacket key
+     * @return the pending entry or null if the tier is disabled or not writable
+     */
+    public PendingEntry stage(String key) {
+        if (!enabled)
+            return null;
+        Path object = getObjectPath(key);
+        if (object == null)
+            return null;
+        try {
+            Files.createDirectories(object.getParent());
+            Path temp = Files.createTempFile(object.getParent(), object.getFileName().toString(), TEMP_EXTENSION);
+            return new PendingEntry(key, object, temp, Files.newOutputStream(temp));
+        } catch (IOException e) {
+            LOGGER.warn(PacketManagerLogger.SESSIONID, PacketManagerLogger.REGISTRATIONID, key,
+                    "Local tier entry could not be created : " + e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * Remove the subpacket from the tier.
+     *
+     * @param key : the subpacket key
+     */
+    public void invalidate(String key) {
+        if (!enabled)
+            return;
+        synchronized (entries) {
+            remove(key);
+        }
+    }
+
+    /**
+     * Remove all subpackets of a container.
+     *
+     * @param id      : the registration id
+     * @param source  : the source
+     * @param process : the process
+     */
+    public void invalidate(String id, String source, String process) {
+        if (!enabled)
+            return;
+        String prefix = id + SEPARATOR + source + SEPARATOR + process + SEPARATOR;
+        synchronized (entries) {
+            Iterator<Map.Entry<String, TierEntry>> iterator = entries.entrySet().iterator();
+            while (iterator.hasNext()) {
+                Map.Entry<String, TierEntry> entry = iterator.next();
+                if (entry.getKey().startsWith(prefix)) {
+                    iterator.remove();
+                    currentSizeBytes -= entry.getValue().size;
+                    entry.getValue().delete();
+                }
+            }
+        }
+    }
+
+    private void add(TierEntry entry) {
+        synchronized (entries) {
+            TierEntry replaced = entries.put(entry.key, entry);
+            if (replaced != null)
+                currentSizeBytes -= replaced.size;
+            currentSizeBytes += entry.size;
+            evict();
+        }
+    }
+
+    private void evict() {
+        Iterator<Map.Entry<String, TierEntry>> iterator = entries.entrySet().iterator();
+        while (currentSizeBytes > maxSizeBytes && iterator.hasNext()) {
+            TierEntry eldest = iterator.next().getValue();
+            iterator.remove();
+            currentSizeBytes -= eldest.size;
+            eldest.delete();
+            evictions.incrementAndGet();
+        }
+    }
+
+    private void remove(String key) {
+        TierEntry removed = entries.remove(key);
+        if (removed != null) {
+            currentSizeBytes -= removed.size;
+            removed.delete();
+        }
+    }
+
+    private Path getObjectPath(String key) {
+        Path object = root.resolve(key + OBJECT_EXTENSION).normalize();
+        // keys are built from request values, never write outside of the tier directory
+        return object.startsWith(root) && !object.equals(root) ? object : null;
+    }
+
+    private static Path getMetadataPath(Path object) {
+        String fileName = object.getFileName().toString();
+        return object.resolveSibling(fileName.substring(0, fileName.length() - OBJECT_EXTENSION.length()) + METADATA_EXTENSION);
+    }
+
+    private static void deleteQuietly(Path path) {
+        try {
+            Files.deleteIfExists(path);
+        } catch (IOException e) {
+            LOGGER.warn(PacketManagerLogger.SESSIONID, PacketManagerLogger.REGISTRATIONID, null,
+                    "Local tier file could not be deleted " + path + " : " + e.getMessage());
+        }
+    }
+
+    public long getHitCount() {
+        return hits.get();
+    }
+
+    public long getMissCount() {
+        return misses.get();
+    }
+
+    public long getEvictionCount() {
+        return evictions.get();
+    }
+
+    public long getSizeBytes() {
+        synchronized (entries) {
+            return currentSizeBytes;
+        }
+    }
+
+    public int getEntryCount() {
+        synchronized (entries) {
+            return entries.size();
+        }
+    }
+
+    public double getHitRatio() {
+        long total = hits.get() + misses.get();
+        return total == 0 ? 0d : (double) hits.get() / total;
+    }
+
+    /**
+     * Subpacket being copied to the tier while it is read from the object store.
+     * The entry becomes visible only after commit, an entry which is not committed is discarded.
+     */
+    public class PendingEntry {
+        private final String key;
+        private final Path object;
+        private final Path temp;
+        private final OutputStream out;
+        private boolean done;
+
+        private PendingEntry(String key, Path object, Path temp, OutputStream out) {
+            this.key = key;
+            this.object = object;
+            this.temp = temp;
+            this.out = out;
+        }
+
+        /**
+         * Copy everything read from the stream to the tier.
+         *
+         * @param in : the object store stream
+         * @return the stream to read from
+         */
+        public InputStream wrap(InputStream in) {
+            return new TeeInputStream(in, out, true);
+        }
+
+        /**
+         * Make the copied subpacket visible once its integrity is checked.
+         *
+         * @param encryptedHash : the verified encrypted hash
+         * @param metaInfo      : the object store metadata
+         */
+        public void commit(String encryptedHash, Map<String, Object> metaInfo) {
+            if (done)
+                return;
+            done = true;
+            Path metadataFile = getMetadataPath(object);
+            try {
+                out.close();
+                long size = Files.size(temp);
+                if (size > maxSizeBytes) {
+                    deleteQuietly(temp);
+                    return;
+                }
+                Files.move(temp, object, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+                Path metadataTemp = Files.createTempFile(object.getParent(), metadataFile.getFileName().toString(), TEMP_EXTENSION);
+                objectMapper.writeValue(metadataTemp.toFile(), metaInfo);
+                Files.move(metadataTemp, metadataFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+                add(new TierEntry(key, object, metadataFile, encryptedHash, size, System.currentTimeMillis()));
+            } catch (IOException | RuntimeException e) {
+                LOGGER.warn(PacketManagerLogger.SESSIONID, PacketManagerLogger.REGISTRATIONID, key,
+                        "Local tier entry could not be stored : " + e.getMessage());
+                deleteQuietly(temp);
+                invalidate(key);
+                deleteQuietly(object);
+                deleteQuietly(metadataFile);
+            }
+        }
+
+        /**
+         * Drop the copied bytes, no-op after commit.
+         */
+        public void discard() {
+            if (done)
+                return;
+            done = true;
+            IOUtils.closeQuietly(out);
+            deleteQuietly(temp);
+        }
+    }
+
+    private static class TierEntry {
+        private final String key;
+        private final Path object;
+        private final Path metadata;
+        private final String encryptedHash;
+        private final long size;
+        private final long lastModified;
+
+        private TierEntry(String key, Path object, Path metadata, String encryptedHash, long size, long lastModified) {
+            this.key = key;
+            this.object = object;
+            this.metadata = metadata;
+            this.encryptedHash = encryptedHash;
+            this.size = size;
+            this.lastModified = lastModified;
+        }
+
+        private void delete() {
+            deleteQuietly(metadata);
+            deleteQuietly(object);
+        }
+    }
+}
@@ -0,0 +1,135 @@
+package io.mosip.commons.packet.keeper;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Short lived cache of subpackets which were not found in the object store.
+ * Repeated reads of a packet which is not yet stored are answered without calling the object store.
+ * Entries are removed when the subpacket is stored or packed through this node. A subpacket stored
+ * through another node is visible once the entry expires, so the time to live is kept short.
+ */
+@Component
+public class MissingPacketCache {
+
+    private static final String SEPARATOR = "/";
+
+    @Value("${packetmanager.missing.packet.cache.enabled:false}")
+    private boolean enabled;
+
+    @Value("${packetmanager.missing.packet.cache.max-entries:10000}")
+    private int maxEntries;
+
+    @Value("${packetmanager.missing.packet.cache.ttl-seconds:10}")
+    private long ttlSeconds;
+
+    /**
+     * entries by subpacket key, in insertion order.
+     */
+    private final LinkedHashMap<String, MissingEntry> entries = new LinkedHashMap<String, MissingEntry>() {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, MissingEntry> eldest) {
+            return size() > maxEntries;
+        }
+    };
+
+    private final AtomicLong hits = new AtomicLong();
+
+    /**
+     * Get the error code with which the subpacket was recently found missing.
+     *
+     * @param key : the subpacket key
+     * @return the error code or null if not known to be missing
+     */
+    public String getErrorCode(String key) {
+        if (!enabled)
+            return null;
+        MissingEntry entry;
+        synchronized (entries) {
+            entry = entries.get(key);
+            if (entry == null)
+                return null;
+            if (System.currentTimeMillis() > entry.expiresAt) {
+                entries.remove(key);
+                return null;
+            }
+        }
+        hits.incrementAndGet();
+        return entry.errorCode;
+    }
+
+    /**
+     * Remember that the subpacket is missing.
+     *
+     * @param key       : the subpacket key
+     * @param errorCode : the error code of the failed read
+     */
+    public void putMissing(String key, String errorCode) {
+        if (!enabled)
+            return;
+        MissingEntry entry = new MissingEntry(errorCode, System.currentTimeMillis() + TimeUnit.SECONDS.toMillis(ttlSeconds));
+        synchronized (entries) {
+            entries.remove(key);
+            entries.put(key, entry);
+        }
+    }
+
+    /**
+     * Remove the entry for the subpacket.
+     *
+     * @param key : the subpacket key
+     */
+    public void invalidate(String key) {
+        if (!enabled)
+            return;
+        synchronized (entries) {
+            entries.remove(key);
+        }
+    }
+
+    /**
+     * Remove all entries of a container.
+     *
+     * @param id      : the registration id
+     * @param source  : the source
+     * @param process : the process
+     */
+    public void invalidate(String id, String source, String process) {
+        if (!enabled)
+            return;
+        String prefix = id + SEPARATOR + source + SEPARATOR + process + SEPARATOR;
+        synchronized (entries) {
+            Iterator<String> iterator = entries.keySet().iterator();
+            while (iterator.hasNext()) {
+                if (iterator.next().startsWith(prefix))
+                    iterator.remove();
+            }
+        }
+    }
+
+    public long getHitCount() {
+        return hits.get();
+    }
+
+    public int getEntryCount() {
+        synchronized (entries) {
+            return entries.size();
+        }
+    }
+
+    private static class MissingEntry {
+        private final String errorCode;
+        private final long expiresAt;
+
+        private MissingEntry(String errorCode, long expiresAt) {
+            this.errorCode = errorCode;
+            this.expiresAt = expiresAt;
+        }
+    }
+}
@@ -1,22 +1,34 @@
 package io.mosip.commons.packet.keeper;
 
 import java.io.ByteArrayInputStream;
+import java.io.IOException;
 import java.io.InputStream;
+import java.security.MessageDigest;
 import java.security.NoSuchAlgorithmException;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
 
 import io.mosip.commons.packet.exception.ObjectDoesnotExistsException;
-import org.apache.commons.io.IOUtils;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
+import org.apache.commons.io.IOUtils;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
 import io.mosip.commons.khazana.dto.ObjectDto;
 import io.mosip.commons.khazana.spi.ObjectStoreAdapter;
 import io.mosip.commons.packet.constants.ErrorCode;
 import io.mosip.commons.packet.constants.PacketUtilityErrorCodes;
+import io.mosip.commons.packet.dto.ContainerDirectory;
+import io.mosip.commons.packet.dto.EncryptedSubpacket;
 import io.mosip.commons.packet.dto.Packet;
 import io.mosip.commons.packet.dto.PacketInfo;
 import io.mosip.commons.packet.dto.TagDto;
@@ -26,6 +38,7 @@ import io.mosip.commons.packet.exception.ObjectStoreAdapterException;
 import io.mosip.commons.packet.exception.PacketIntegrityFailureException;
 import io.mosip.commons.packet.exception.PacketKeeperException;
 import io.mosip.commons.packet.spi.IPacketCryptoService;
+import io.mosip.commons.packet.util.EncryptedSubpacketReader;
 import io.mosip.commons.packet.util.PacketManagerHelper;
 import io.mosip.commons.packet.util.PacketManagerLogger;
 import io.mosip.kernel.core.exception.BaseCheckedException;
@@ -79,6 +92,9 @@ public class PacketKeeper {
 	@Value("${packetmanager.packet.signature.disable-verification:false}")
 	private boolean disablePacketSignatureVerification;
 
+    @Value("${packetmanager.container.directory.enabled:false}")
+    private boolean containerDirectoryEnabled;
+
     @Autowired
     @Qualifier("OnlinePacketCryptoServiceImpl")
     private IPacketCryptoService onlineCrypto;
@@ -90,7 +106,34 @@ public class PacketKeeper {
     @Autowired
     private PacketManagerHelper helper;
 
+    @Autowired
+    private SubpacketCache subpacketCache;
+
+    @Autowired(required = false)
+    private ClusterFetchCoordinator clusterFetchCoordinator;
+
+    @Autowired
+    private SignatureVerificationCache signatureVerificationCache;
+
+    @Autowired
+    private LocalDiskTier localDiskTier;
+
+    @Autowired
+    private MissingPacketCache missingPacketCache;
+
+    @Autowired
+    @Qualifier("objectStoreExecutor")
+    private ExecutorService objectStoreExecutor;
+
+    /**
+     * fetches currently running on this node by subpacket key.
+     */
+    private final Map<String, CompletableFuture<Packet>> inFlightFetches = new ConcurrentHashMap<>();
+
     private static final String UNDERSCORE = "_";
+    private static final String HASH_ALGORITHM = "SHA-256";
+    private static final String DIRECTORY = "directory";
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
 
     /**
      * Check packet integrity.
@@ -99,8 +142,18 @@ public class PacketKeeper {
      * @return : boolean
      */
     public boolean checkIntegrity(PacketInfo packetInfo, byte[] encryptedSubPacket) throws NoSuchAlgorithmException {
-        String hash = CryptoUtil.encodeToURLSafeBase64(HMACUtils2.generateHash(encryptedSubPacket));
-        boolean result = hash.equals(packetInfo.getEncryptedHash());
+        return checkIntegrity(packetInfo, CryptoUtil.encodeToURLSafeBase64(HMACUtils2.generateHash(encryptedSubPacket)));
+    }
+
+    /**
+     * Check packet integrity against the hash computed while reading the encrypted packet.
+     *
+     * @param packetInfo    : the packet information
+     * @param encryptedHash : url safe base64 encoded hash of the encrypted packet
+     * @return : boolean
+     */
+    public boolean checkIntegrity(PacketInfo packetInfo, String encryptedHash) {
+        boolean result = encryptedHash != null && encryptedHash.equals(packetInfo.getEncryptedHash());
         LOGGER.info(PacketManagerLogger.SESSIONID, PacketManagerLogger.REGISTRATIONID,
                 getName(packetInfo.getId(), packetInfo.getPacketName()), "Integrity check : " + result);
         return result;
@@ -115,17 +168,40 @@ public class PacketKeeper {
      * @return
      */
     public boolean checkSignature(Packet packet, byte[] encryptedSubPacket) throws NoSuchAlgorithmException {
-        boolean result = disablePacketSignatureVerification ? true :
-        		getCryptoService().verify(helper.getRefId(
-                        packet.getPacketInfo().getId(), packet.getPacketInfo().getRefId()), packet.getPacket()
-        				, CryptoUtil.decodeURLSafeBase64(packet.getPacketInfo().getSignature()));
+        return checkSignature(packet, CryptoUtil.encodeToURLSafeBase64(HMACUtils2.generateHash(encryptedSubPacket)));
+    }
+
+    /**
+     * Check integrity and signature of the packet
+     *
+     * @param packet
+     * @param encryptedHash : url safe base64 encoded hash of the encrypted packet
+     * @return
+     */
+    public boolean checkSignature(Packet packet, String encryptedHash) {
+        boolean result = disablePacketSignatureVerification ? true : verifySignature(packet, encryptedHash);
         if (result)
-            result = checkIntegrity(packet.getPacketInfo(), encryptedSubPacket);
+            result = checkIntegrity(packet.getPacketInfo(), encryptedHash);
         LOGGER.info(PacketManagerLogger.SESSIONID, PacketManagerLogger.REGISTRATIONID,
                 getName(packet.getPacketInfo().getId(), packet.getPacketInfo().getPacketName()), "Integrity and signature check : " + result);
         return result;
     }
 
+    private boolean verifySignature(Packet packet, String encryptedHash) {
+        String refId = helper.getRefId(packet.getPacketInfo().getId(), packet.getPacketInfo().getRefId());
+        String signature = packet.getPacketInfo().getSignature();
+        // the memoized result is only valid together with the integrity check done on the same hash
+        if (signatureVerificationCache.isVerified(refId, encryptedHash, signature)) {
+            LOGGER.debug(PacketManagerLogger.SESSIONID, PacketManagerLogger.REGISTRATIONID,
+                    getName(packet.getPacketInfo().getId(), packet.getPacketInfo().getPacketName()), "Signature verified earlier");
+            return true;
+        }
+        boolean result = getCryptoService().verify(refId, packet.getPacket(), CryptoUtil.decodeURLSafeBase64(signature));
+        if (result)
+            signatureVerificationCache.putVerified(refId, encryptedHash, signature);
+        return result;
+    }
+
     /**
      * Get packet
      *
@@ -133,43 +209,203 @@ public class PacketKeeper {
      * @return : Packet
      */
     public Packet getPacket(PacketInfo packetInfo) throws PacketKeeperException {
-        try {
-            InputStream is = getAdapter().getObject(PACKET_MANAGER_ACCOUNT, packetInfo.getId(), packetInfo.getSource(),
-                    packetInfo.getProcess(), getName(packetInfo.getId(), packetInfo.getPacketName()));
-            if (is == null) {
-                LOGGER.error(PacketManagerLogger.SESSIONID, PacketManagerLogger.REGISTRATIONID,
-                        getName(packetInfo.getId(), packetInfo.getPacketName()), packetInfo.getProcess() + " Packet is not present in packet store.");
+        String cacheKey = SubpacketCache.getKey(packetInfo.getId(), packetInfo.getSource(), packetInfo.getProcess(),
+                getName(packetInfo.getId(), packetInfo.getPacketName()));
+        String missingErrorCode = missingPacketCache.getErrorCode(cacheKey);
+        if (missingErrorCode != null) {
+            LOGGER.info(PacketManagerLogger.SESSIONID, PacketManagerLogger.REGISTRATIONID,
+                    packetInfo.getId(), "Packet not found earlier : " + cacheKey);
+            if (ErrorCode.PACKET_NOT_FOUND.getErrorCode().equals(missingErrorCode))
                 throw new PacketKeeperException(ErrorCode.PACKET_NOT_FOUND.getErrorCode(), ErrorCode.PACKET_NOT_FOUND.getErrorMessage());
+            throw new ObjectDoesnotExistsException();
+        }
+        // concurrent requests for the same subpacket share one fetch
+        CompletableFuture<Packet> inFlight = new CompletableFuture<>();
+        CompletableFuture<Packet> existing = inFlightFetches.putIfAbsent(cacheKey, inFlight);
+        if (existing != null)
+            return awaitFetch(cacheKey, existing);
+        try {
+            Packet packet = fetchPacket(packetInfo, cacheKey, true);
+            inFlight.complete(packet);
+            return packet;
+        } catch (PacketKeeperException | RuntimeException | Error e) {
+            if (e instanceof ObjectDoesnotExistsException)
+                missingPacketCache.putMissing(cacheKey, ((ObjectDoesnotExistsException) e).getErrorCode());
+            else if (isPacketNotFound(e))
+                missingPacketCache.putMissing(cacheKey, ErrorCode.PACKET_NOT_FOUND.getErrorCode());
+            inFlight.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlightFetches.remove(cacheKey, inFlight);
+        }
+    }
+
+    private static boolean isPacketNotFound(Throwable e) {
+        return e instanceof PacketKeeperException
+                && ErrorCode.PACKET_NOT_FOUND.getErrorCode().equals(((PacketKeeperException) e).getErrorCode());
+    }
+
+    private static boolean isObjectStore404(Exception e) {
+        return e.getMessage() != null && e.getMessage().contains(OBJECT_DOESNOT_EXISTS) && e.getMessage().contains(STATUS_404);
+    }
+
+    private Packet awaitFetch(String cacheKey, CompletableFuture<Packet> inFlight) throws PacketKeeperException {
+        try {
+            return inFlight.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new PacketKeeperException(PacketUtilityErrorCodes.PACKET_KEEPER_GET_ERROR.getErrorCode(),
+                    "Interrupted while waiting for packet : " + cacheKey, e);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof PacketKeeperException)
+                throw (PacketKeeperException) cause;
+            else if (cause instanceof RuntimeException)
+                throw (RuntimeException) cause;
+            throw new PacketKeeperException(PacketUtilityErrorCodes.PACKET_KEEPER_GET_ERROR.getErrorCode(),
+                    "Exception occured reading packet : " + cause.getMessage(), cause);
+        }
+    }
+
+    /**
+     * Fetch, decrypt and verify a subpacket. The subpacket cache and the local disk tier are checked first,
+     * the cluster is only asked for the encrypted subpacket when both miss.
+     *
+     * @param packetInfo  : the packet info
+     * @param cacheKey    : the subpacket key
+     * @param coordinated : true to download through the cluster coordinator when there is one
+     * @return the Packet
+     */
+    private Packet fetchPacket(PacketInfo packetInfo, String cacheKey, boolean coordinated) throws PacketKeeperException {
+        LocalDiskTier.PendingEntry pendingEntry = null;
+        try {
+            String objectName = getName(packetInfo.getId(), packetInfo.getPacketName());
+            Map<String, Object> metaInfo = null;
+            // metadata is read first only when a cached copy can be served, so a cache hit costs one metadata call
+            if (subpacketCache.contains(cacheKey)) {
+                metaInfo = getAdapter().getMetaData(PACKET_MANAGER_ACCOUNT, packetInfo.getId(),
+                        packetInfo.getSource(), packetInfo.getProcess(), objectName);
+                if (metaInfo != null && !metaInfo.isEmpty()) {
+                    PacketInfo storedPacketInfo = PacketManagerHelper.getPacketInfo(metaInfo);
+                    byte[] cachedSubPacket = subpacketCache.get(cacheKey, storedPacketInfo.getEncryptedHash());
+                    if (cachedSubPacket != null) {
+                        LOGGER.debug(PacketManagerLogger.SESSIONID, PacketManagerLogger.REGISTRATIONID,
+                                objectName, "Subpacket served from cache");
+                        Packet packet = new Packet();
+                        packet.setPacketInfo(storedPacketInfo);
+                        packet.setPacket(cachedSubPacket);
+                        return packet;
+                    }
+                }
+            }
+
+            // the local disk tier serves the encrypted subpacket when it matches the stored metadata
+            InputStream is = null;
+            long length = -1;
+            if (localDiskTier.contains(cacheKey)) {
+                if (metaInfo == null)
+                    metaInfo = getAdapter().getMetaData(PACKET_MANAGER_ACCOUNT, packetInfo.getId(),
+                            packetInfo.getSource(), packetInfo.getProcess(), objectName);
+                if (metaInfo != null && !metaInfo.isEmpty()) {
+                    length = localDiskTier.getSize(cacheKey);
+                    is = localDiskTier.open(cacheKey, PacketManagerHelper.getPacketInfo(metaInfo).getEncryptedHash());
+                }
             }
-            byte[] encryptedSubPacket = IOUtils.toByteArray(is);
+            boolean servedFromTier = is != null;
+
+            // metadata lookup runs while the object is downloaded
+            Future<Map<String, Object>> metaInfoFuture = null;
+            if (metaInfo == null)
+                metaInfoFuture = objectStoreExecutor.submit(() -> getAdapter().getMetaData(PACKET_MANAGER_ACCOUNT,
+                        packetInfo.getId(), packetInfo.getSource(), packetInfo.getProcess(), objectName));
+
+            EncryptedSubpacket encryptedSubPacket;
+            MessageDigest digest = MessageDigest.getInstance(HASH_ALGORITHM);
+            boolean servedFromCluster = false;
+            try {
+                if (!servedFromTier) {
+                    if (coordinated && clusterFetchCoordinator != null) {
+                        // the cluster lock is only held while the encrypted subpacket is downloaded
+                        byte[] subpacket = clusterFetchCoordinator.fetch(cacheKey,
+                                () -> downloadSubpacket(packetInfo, objectName));
+                        is = new ByteArrayInputStream(subpacket);
+                        length = subpacket.length;
+                        servedFromCluster = true;
+                    } else {
+                        is = openSubpacket(packetInfo, objectName);
+                        length = -1;
+                    }
+                    pendingEntry = localDiskTier.stage(cacheKey);
+                    if (pendingEntry != null)
+                        is = pendingEntry.wrap(is);
+                }
+                // the hash is computed and the encrypted data encoded while the object is streamed,
+                // into a buffer of the exact encoded size when the length is known
+                try (InputStream in = is) {
+                    encryptedSubPacket = EncryptedSubpacketReader.read(in, digest, length);
+                }
+                if (metaInfoFuture != null)
+                    metaInfo = getResult(metaInfoFuture);
+            } finally {
+                if (metaInfoFuture != null)
+                    metaInfoFuture.cancel(false);
+            }
+            String encryptedHash = CryptoUtil.encodeToURLSafeBase64(digest.digest());
 
             Packet packet = new Packet();
-            Map<String, Object> metaInfo = getAdapter().getMetaData(PACKET_MANAGER_ACCOUNT, packetInfo.getId(),
-                    packetInfo.getSource(), packetInfo.getProcess(), getName(packetInfo.getId(), packetInfo.getPacketName()));
             if (metaInfo != null && !metaInfo.isEmpty())
                 packet.setPacketInfo(PacketManagerHelper.getPacketInfo(metaInfo));
             else {
                 LOGGER.info(PacketManagerLogger.SESSIONID, PacketManagerLogger.REGISTRATIONID,
-                        getName(packetInfo.getId(), packetInfo.getPacketName()), "metainfo not found for this packet");
+                        objectName, "metainfo not found for this packet");
                 packet.setPacketInfo(packetInfo);
             }
+            // a corrupted packet is rejected before the remote decrypt and verify calls
+            if (!checkIntegrity(packet.getPacketInfo(), encryptedHash)) {
+                LOGGER.error(PacketManagerLogger.SESSIONID, PacketManagerLogger.REGISTRATIONID,
+                        getName(packet.getPacketInfo().getId(), packetInfo.getPacketName()), "Packet Integrity check failed");
+                if (servedFromTier)
+                    localDiskTier.invalidate(cacheKey);
+                // a shared copy older than the stored subpacket is dropped and downloaded again by this node
+                if (servedFromCluster) {
+                    clusterFetchCoordinator.invalidate(cacheKey);
+                    if (pendingEntry != null) {
+                        pendingEntry.discard();
+                        pendingEntry = null;
+                    }
+                    return fetchPacket(packetInfo, cacheKey, false);
+                }
+                throw new PacketIntegrityFailureException();
+            }
+            if (pendingEntry != null && metaInfo != null && !metaInfo.isEmpty())
+                pendingEntry.commit(encryptedHash, metaInfo);
+
             byte[] subPacket = getCryptoService().decrypt(helper.getRefId(
-                    packet.getPacketInfo().getId(), packet.getPacketInfo().getRefId()), encryptedSubPacket);
+                    packet.getPacketInfo().getId(), packet.getPacketInfo().getRefId()), encryptedSubPacket.getNonce(),
+                    encryptedSubPacket.getAad(), encryptedSubPacket.getEncryptedData());
             packet.setPacket(subPacket);
 
-
-			if (!checkSignature(packet, encryptedSubPacket)) {
+            boolean signatureVerified = disablePacketSignatureVerification || verifySignature(packet, encryptedHash);
+            LOGGER.info(PacketManagerLogger.SESSIONID, PacketManagerLogger.REGISTRATIONID,
+                    getName(packet.getPacketInfo().getId(), packetInfo.getPacketName()), "Signature check : " + signatureVerified);
+			if (!signatureVerified) {
                 LOGGER.error(PacketManagerLogger.SESSIONID, PacketManagerLogger.REGISTRATIONID,
                         getName(packet.getPacketInfo().getId(), packetInfo.getPacketName()), "Packet Integrity and Signature check failed");
                 throw new PacketIntegrityFailureException();
             }
 
+            subpacketCache.put(cacheKey, packet.getPacketInfo().getEncryptedHash(), subPacket);
             return packet;
         } catch (Exception e) {
-            LOGGER.error(PacketManagerLogger.SESSIONID, PacketManagerLogger.REGISTRATIONID, packetInfo.getId(), ExceptionUtils.getStackTrace(e));
-            if (e.getMessage() != null && e.getMessage().contains(OBJECT_DOESNOT_EXISTS) && e.getMessage().contains(STATUS_404))
+            if (isObjectStore404(e)) {
+                LOGGER.info(PacketManagerLogger.SESSIONID, PacketManagerLogger.REGISTRATIONID, packetInfo.getId(),
+                        "Packet not found in object store : " + cacheKey);
                 throw new ObjectDoesnotExistsException();
-            else if (e instanceof BaseCheckedException) {
+            }
+            // a missing packet is already logged where it is detected
+            if (!isPacketNotFound(e))
+                LOGGER.error(PacketManagerLogger.SESSIONID, PacketManagerLogger.REGISTRATIONID, packetInfo.getId(), ExceptionUtils.getStackTrace(e));
+            if (e instanceof BaseCheckedException) {
                 BaseCheckedException ex = (BaseCheckedException) e;
                 throw new PacketKeeperException(ex.getErrorCode(), ex.getMessage());
             }
@@ -179,6 +415,39 @@ public class PacketKeeper {
             } else
                 throw new PacketKeeperException(PacketUtilityErrorCodes.PACKET_KEEPER_GET_ERROR.getErrorCode(),
                     "Exception occured reading packet : " + e.getMessage(), e);
+        } finally {
+            if (pendingEntry != null)
+                pendingEntry.discard();
+        }
+    }
+
+    private InputStream openSubpacket(PacketInfo packetInfo, String objectName) throws PacketKeeperException {
+        InputStream is = getAdapter().getObject(PACKET_MANAGER_ACCOUNT, packetInfo.getId(), packetInfo.getSource(),
+                packetInfo.getProcess(), objectName);
+        if (is == null) {
+            LOGGER.error(PacketManagerLogger.SESSIONID, PacketManagerLogger.REGISTRATIONID,
+                    objectName, packetInfo.getProcess() + " Packet is not present in packet store.");
+            throw new PacketKeeperException(ErrorCode.PACKET_NOT_FOUND.getErrorCode(), ErrorCode.PACKET_NOT_FOUND.getErrorMessage());
+        }
+        return is;
+    }
+
+    private byte[] downloadSubpacket(PacketInfo packetInfo, String objectName) throws PacketKeeperException {
+        try (InputStream is = openSubpacket(packetInfo, objectName)) {
+            return IOUtils.toByteArray(is);
+        } catch (IOException e) {
+            throw new PacketKeeperException(PacketUtilityErrorCodes.PACKET_KEEPER_GET_ERROR.getErrorCode(),
+                    "Exception occured reading packet : " + e.getMessage(), e);
+        }
+    }
+
+    private static <T> T getResult(Future<T> future) throws Exception {
+        try {
+            return future.get();
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof Exception)
+                throw (Exception) e.getCause();
+            throw e;
         }
     }
 
@@ -189,9 +458,15 @@ public class PacketKeeper {
      * @return PacketInfo
      */
     public PacketInfo putPacket(Packet packet) throws PacketKeeperException {
+        // the signature is on the plain packet, so signing runs while the packet is encrypted and uploaded
+        Future<byte[]> signatureFuture = null;
         try {
+            signatureFuture = objectStoreExecutor.submit(() -> getCryptoService().sign(packet.getPacket()));
+
             // encrypt packet
             byte[] encryptedSubPacket = getCryptoService().encrypt(packet.getPacketInfo().getRefId(), packet.getPacket());
+            // generate encrypted packet hash
+            String encryptedHash = CryptoUtil.encodeToURLSafeBase64(HMACUtils2.generateHash(encryptedSubPacket));
 
             // put packet in object store
             boolean response = getAdapter().putObject(PACKET_MANAGER_ACCOUNT,
@@ -200,10 +475,16 @@ public class PacketKeeper {
 
             if (response) {
                 PacketInfo packetInfo = packet.getPacketInfo();
+                String cacheKey = SubpacketCache.getKey(packetInfo.getId(), packetInfo.getSource(),
+                        packetInfo.getProcess(), packetInfo.getPacketName());
+                subpacketCache.invalidate(cacheKey);
+                localDiskTier.invalidate(cacheKey);
+                missingPacketCache.invalidate(cacheKey);
+                if (clusterFetchCoordinator != null)
+                    clusterFetchCoordinator.invalidate(cacheKey);
                 // sign encrypted packet
-                packetInfo.setSignature(CryptoUtil.encodeToURLSafeBase64(getCryptoService().sign(packet.getPacket())));
-                // generate encrypted packet hash
-                packetInfo.setEncryptedHash(CryptoUtil.encodeToURLSafeBase64(HMACUtils2.generateHash(encryptedSubPacket)));
+                packetInfo.setSignature(CryptoUtil.encodeToURLSafeBase64(getResult(signatureFuture)));
+                packetInfo.setEncryptedHash(encryptedHash);
                 Map<String, Object> metaMap = PacketManagerHelper.getMetaMap(packetInfo);
                 metaMap = getAdapter().addObjectMetaData(PACKET_MANAGER_ACCOUNT,
                         packet.getPacketInfo().getId(), packet.getPacketInfo().getSource(), packet.getPacketInfo().getProcess(), packet.getPacketInfo().getPacketName(), metaMap);
@@ -224,6 +505,9 @@ public class PacketKeeper {
             }
             throw new PacketKeeperException(PacketUtilityErrorCodes.PACKET_KEEPER_PUT_ERROR.getErrorCode(),
                     "Failed to persist packet in object store : " + e.getMessage(), e);
+        } finally {
+            if (signatureFuture != null)
+                signatureFuture.cancel(false);
         }
     }
 
@@ -251,11 +535,55 @@ public class PacketKeeper {
         return id + UNDERSCORE + name;
     }
 
+    /**
+     * Store the directory of a container next to its subpackets. It only holds names and is not encrypted.
+     * A failure is logged and not thrown, the container is then read without directory.
+     *
+     * @param id        : the id of the container
+     * @param directory : the directory
+     * @return true if stored
+     */
+    public boolean putDirectory(String id, ContainerDirectory directory) {
+        if (!containerDirectoryEnabled)
+            return false;
+        try {
+            return getAdapter().putObject(PACKET_MANAGER_ACCOUNT, id, directory.getSource(), directory.getProcess(),
+                    getName(id, DIRECTORY), new ByteArrayInputStream(OBJECT_MAPPER.writeValueAsBytes(directory)));
+        } catch (Exception e) {
+            LOGGER.warn(PacketManagerLogger.SESSIONID, PacketManagerLogger.REGISTRATIONID, id,
+                    "Unable to store container directory : " + ExceptionUtils.getStackTrace(e));
+            return false;
+        }
+    }
+
+    /**
+     * Get the directory of a container.
+     *
+     * @param id      : the id of the container
+     * @param source  : the source
+     * @param process : the process
+     * @return the directory or null if the container was stored without directory
+     */
+    public ContainerDirectory getDirectory(String id, String source, String process) {
+        if (!containerDirectoryEnabled)
+            return null;
+        try (InputStream is = getAdapter().getObject(PACKET_MANAGER_ACCOUNT, id, source, process, getName(id, DIRECTORY))) {
+            return is != null ? OBJECT_MAPPER.readValue(is, ContainerDirectory.class) : null;
+        } catch (Exception e) {
+            LOGGER.debug(PacketManagerLogger.SESSIONID, PacketManagerLogger.REGISTRATIONID, id,
+                    "Container directory not available for source : " + source + " process : " + process + " : " + e.getMessage());
+            return null;
+        }
+    }
+
     public boolean deletePacket(String id, String source, String process) {
+        subpacketCache.invalidate(id, source, process);
+        localDiskTier.invalidate(id, source, process);
         return getAdapter().removeContainer(PACKET_MANAGER_ACCOUNT, id, source, process);
     }
 
     public boolean pack(String id, String source, String process, String refId) {
+        missingPacketCache.invalidate(id, source, process);
         return getAdapter().pack(PACKET_MANAGER_ACCOUNT, id, source, process, refId);
     }
 
@@ -0,0 +1,98 @@
+package io.mosip.commons.packet.keeper;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import io.mosip.commons.packet.util.PacketManagerLogger;
+import io.mosip.kernel.core.exception.ExceptionUtils;
+import io.mosip.kernel.core.logger.spi.Logger;
+
+/**
+ * Logs the statistics of the subpacket cache, of the local disk tier and of the read executors at a fixed
+ * interval, so that their hit ratio and load can be followed from the logs. An interval of 0 disables the logging.
+ */
+@Component
+public class ReadStatsReporter {
+
+    private static Logger LOGGER = PacketManagerLogger.getLogger(ReadStatsReporter.class);
+
+    @Value("${packetmanager.stats.log-interval-seconds:300}")
+    private long logIntervalSeconds;
+
+    @Autowired
+    private SubpacketCache subpacketCache;
+
+    @Autowired
+    private LocalDiskTier localDiskTier;
+
+    @Autowired
+    @Qualifier("subpacketReadExecutor")
+    private ExecutorService subpacketReadExecutor;
+
+    @Autowired
+    @Qualifier("objectStoreExecutor")
+    private ExecutorService objectStoreExecutor;
+
+    private ScheduledExecutorService scheduler;
+
+    @PostConstruct
+    public void start() {
+        if (logIntervalSeconds <= 0)
+            return;
+        scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "read-stats-reporter");
+            thread.setDaemon(true);
+            return thread;
+        });
+        scheduler.scheduleAtFixedRate(this::report, logIntervalSeconds, logIntervalSeconds, TimeUnit.SECONDS);
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (scheduler != null)
+            scheduler.shutdownNow();
+    }
+
+    /**
+     * Log the current statistics.
+     */
+    public void report() {
+        try {
+            LOGGER.info(PacketManagerLogger.SESSIONID, PacketManagerLogger.REGISTRATIONID, null,
+                    String.format("Subpacket cache hits : %d misses : %d hit ratio : %.2f evictions : %d entries : %d size bytes : %d",
+                            subpacketCache.getHitCount(), subpacketCache.getMissCount(), subpacketCache.getHitRatio(),
+                            subpacketCache.getEvictionCount(), subpacketCache.getEntryCount(), subpacketCache.getSizeBytes()));
+            LOGGER.info(PacketManagerLogger.SESSIONID, PacketManagerLogger.REGISTRATIONID, null,
+                    String.format("Local tier hits : %d misses : %d hit ratio : %.2f evictions : %d entries : %d size bytes : %d",
+                            localDiskTier.getHitCount(), localDiskTier.getMissCount(), localDiskTier.getHitRatio(),
+                            localDiskTier.getEvictionCount(), localDiskTier.getEntryCount(), localDiskTier.getSizeBytes()));
+            reportExecutor("Subpacket read executor", subpacketReadExecutor);
+            reportExecutor("Object store executor", objectStoreExecutor);
+        } catch (RuntimeException e) {
+            // a failed report must not cancel the next ones
+            LOGGER.warn(PacketManagerLogger.SESSIONID, PacketManagerLogger.REGISTRATIONID, null,
+                    "Read statistics could not be logged : " + ExceptionUtils.getStackTrace(e));
+        }
+    }
+
+    private void reportExecutor(String name, ExecutorService executorService) {
+        if (!(executorService instanceof ThreadPoolExecutor))
+            return;
+        ThreadPoolExecutor executor = (ThreadPoolExecutor) executorService;
+        LOGGER.info(PacketManagerLogger.SESSIONID, PacketManagerLogger.REGISTRATIONID, null,
+                String.format("%s active : %d pool size : %d queued : %d remaining queue capacity : %d completed : %d",
+                        name, executor.getActiveCount(), executor.getPoolSize(), executor.getQueue().size(),
+                        executor.getQueue().remainingCapacity(), executor.getCompletedTaskCount()));
+    }
+}
@@ -0,0 +1,123 @@
+package io.mosip.commons.packet.keeper;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Component;
+
+import io.mosip.commons.packet.util.PacketManagerLogger;
+import io.mosip.kernel.core.logger.spi.Logger;
+import io.mosip.kernel.core.util.CryptoUtil;
+
+/**
+ * Remembers successful signature verifications of stored subpackets.
+ * A stored subpacket never changes once written, so a signature verified for an encrypted hash stays valid.
+ * Only successful verifications are remembered. Entries are kept in a bounded local map and, when enabled,
+ * in a shared cache of the configured cache manager so that other nodes can reuse them.
+ */
+@Component
+public class SignatureVerificationCache {
+
+    private static Logger LOGGER = PacketManagerLogger.getLogger(SignatureVerificationCache.class);
+    private static final String SEPARATOR = ":";
+
+    @Value("${packetmanager.signature.verification.cache.enabled:true}")
+    private boolean enabled;
+
+    @Value("${packetmanager.signature.verification.cache.max-entries:10000}")
+    private int maxEntries;
+
+    @Value("${packetmanager.signature.verification.cache.shared:false}")
+    private boolean shared;
+
+    @Value("${packetmanager.signature.verification.cache.name:verifiedSignatures}")
+    private String cacheName;
+
+    @Autowired(required = false)
+    private CacheManager cacheManager;
+
+    private final Map<String, Boolean> verified = new LinkedHashMap<String, Boolean>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, Boolean> eldest) {
+            return size() > maxEntries;
+        }
+    };
+
+    /**
+     * Check if the signature was already verified for the encrypted packet.
+     *
+     * @param refId         : the reference id used to verify
+     * @param encryptedHash : hash computed over the downloaded encrypted packet
+     * @param signature     : the stored signature
+     * @return true if verified earlier
+     */
+    public boolean isVerified(String refId, String encryptedHash, String signature) {
+        if (!enabled || encryptedHash == null || signature == null)
+            return false;
+        String key = getKey(refId, encryptedHash, signature);
+        synchronized (verified) {
+            if (verified.containsKey(key))
+                return true;
+        }
+        Cache sharedCache = getSharedCache();
+        if (sharedCache != null && Boolean.TRUE.equals(sharedCache.get(key, Boolean.class))) {
+            synchronized (verified) {
+                verified.put(key, Boolean.TRUE);
+            }
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * Remember a successful verification.
+     *
+     * @param refId         : the reference id used to verify
+     * @param encryptedHash : hash computed over the downloaded encrypted packet
+     * @param signature     : the stored signature
+     */
+    public void putVerified(String refId, String encryptedHash, String signature) {
+        if (!enabled || encryptedHash == null || signature == null)
+            return;
+        String key = getKey(refId, encryptedHash, signature);
+        synchronized (verified) {
+            verified.put(key, Boolean.TRUE);
+        }
+        Cache sharedCache = getSharedCache();
+        if (sharedCache != null)
+            sharedCache.put(key, Boolean.TRUE);
+    }
+
+    private Cache getSharedCache() {
+        if (!shared || cacheManager == null)
+            return null;
+        try {
+            return cacheManager.getCache(cacheName);
+        } catch (RuntimeException e) {
+            LOGGER.warn(PacketManagerLogger.SESSIONID, PacketManagerLogger.REGISTRATIONID, null,
+                    "Shared signature verification cache not available : " + e.getMessage());
+            return null;
+        }
+    }
+
+    private static String getKey(String refId, String encryptedHash, String signature) {
+        return refId + SEPARATOR + encryptedHash + SEPARATOR + hash(signature);
+    }
+
+    private static String hash(String signature) {
+        try {
+            return CryptoUtil.encodeToURLSafeBase64(MessageDigest.getInstance("SHA-256")
+                    .digest(signature.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            // SHA-256 is always available
+            return signature;
+        }
+    }
+}
@@ -0,0 +1,225 @@
+package io.mosip.commons.packet.keeper;
+
+import java.nio.ByteBuffer;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import io.mosip.commons.packet.util.PacketManagerLogger;
+import io.mosip.commons.packet.util.ZipIndex;
+import io.mosip.commons.packet.util.ZipUtils;
+import io.mosip.kernel.core.logger.spi.Logger;
+
+/**
+ * Size bounded cache of decrypted and verified subpackets.
+ * The subpacket bytes are kept in direct buffers (off-heap) so that large biometric subpackets
+ * do not churn the java heap. An entry is only served when the encrypted hash stored in the
+ * object store metadata still matches the hash the entry was created with.
+ * The zip index of the subpacket is kept with the entry and reused for every copy handed out.
+ */
+@Component
+public class SubpacketCache {
+
+    private static Logger LOGGER = PacketManagerLogger.getLogger(SubpacketCache.class);
+    private static final String SEPARATOR = "/";
+
+    @Value("${packetmanager.subpacket.cache.enabled:true}")
+    private boolean enabled;
+
+    @Value("${packetmanager.subpacket.cache.max-size-bytes:104857600}")
+    private long maxSizeBytes;
+
+    @Value("${packetmanager.subpacket.cache.ttl-seconds:300}")
+    private long ttlSeconds;
+
+    /**
+     * access ordered map, the eldest entry is the least recently used one.
+     */
+    private final LinkedHashMap<String, CacheEntry> entries = new LinkedHashMap<>(16, 0.75f, true);
+
+    private long currentSizeBytes;
+
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong evictions = new AtomicLong();
+
+    /**
+     * Build the cache key for a stored subpacket.
+     *
+     * @param id         : the registration id
+     * @param source     : the source
+     * @param process    : the process
+     * @param objectName : the object name of the subpacket in object store
+     * @return the key
+     */
+    public static String getKey(String id, String source, String process, String objectName) {
+        return id + SEPARATOR + source + SEPARATOR + process + SEPARATOR + objectName;
+    }
+
+    /**
+     * Check if any (not expired) entry is present for the key irrespective of the encrypted hash.
+     *
+     * @param key : the cache key
+     * @return true if present
+     */
+    public boolean contains(String key) {
+        if (!enabled)
+            return false;
+        synchronized (entries) {
+            CacheEntry entry = entries.get(key);
+            return entry != null && !entry.isExpired();
+        }
+    }
+
+    /**
+     * Get the decrypted subpacket.
+     *
+     * @param key           : the cache key
+     * @param encryptedHash : the encrypted hash currently stored against the subpacket
+     * @return the decrypted subpacket or null if not present, expired or stale
+     */
+    public byte[] get(String key, String encryptedHash) {
+        if (!enabled)
+            return null;
+        CacheEntry entry;
+        synchronized (entries) {
+            entry = entries.get(key);
+            if (entry != null && (entry.isExpired() || !entry.encryptedHash.equals(encryptedHash))) {
+                remove(key);
+                entry = null;
+            }
+        }
+        if (entry == null) {
+            misses.incrementAndGet();
+            return null;
+        }
+        hits.incrementAndGet();
+        // the buffer is never modified after creation, a duplicate gives an independent position
+        ByteBuffer buffer = entry.buffer.duplicate();
+        byte[] packet = new byte[buffer.remaining()];
+        buffer.get(packet);
+        ZipUtils.putIndex(packet, entry.zipIndex);
+        return packet;
+    }
+
+    /**
+     * Put decrypted and verified subpacket in cache.
+     *
+     * @param key           : the cache key
+     * @param encryptedHash : the encrypted hash of the stored subpacket
+     * @param packet        : the decrypted subpacket
+     */
+    public void put(String key, String encryptedHash, byte[] packet) {
+        if (!enabled || encryptedHash == null || packet == null || packet.length > maxSizeBytes)
+            return;
+        ByteBuffer buffer = ByteBuffer.allocateDirect(packet.length);
+        buffer.put(packet);
+        buffer.flip();
+        CacheEntry entry = new CacheEntry(encryptedHash, buffer.asReadOnlyBuffer(), ZipUtils.getIndex(packet),
+                System.currentTimeMillis() + TimeUnit.SECONDS.toMillis(ttlSeconds));
+        synchronized (entries) {
+            remove(key);
+            entries.put(key, entry);
+            currentSizeBytes += packet.length;
+            Iterator<Map.Entry<String, CacheEntry>> iterator = entries.entrySet().iterator();
+            while (currentSizeBytes > maxSizeBytes && iterator.hasNext()) {
+                Map.Entry<String, CacheEntry> eldest = iterator.next();
+                iterator.remove();
+                currentSizeBytes -= eldest.getValue().buffer.capacity();
+                evictions.incrementAndGet();
+            }
+        }
+    }
+
+    /**
+     * Remove the entry for the key.
+     *
+     * @param key : the cache key
+     */
+    public void invalidate(String key) {
+        synchronized (entries) {
+            remove(key);
+        }
+    }
+
+    /**
+     * Remove all entries of a container.
+     *
+     * @param id      : the registration id
+     * @param source  : the source
+     * @param process : the process
+     */
+    public void invalidate(String id, String source, String process) {
+        String prefix = id + SEPARATOR + source + SEPARATOR + process + SEPARATOR;
+        synchronized (entries) {
+            Iterator<Map.Entry<String, CacheEntry>> iterator = entries.entrySet().iterator();
+            while (iterator.hasNext()) {
+                Map.Entry<String, CacheEntry> entry = iterator.next();
+                if (entry.getKey().startsWith(prefix)) {
+                    iterator.remove();
+                    currentSizeBytes -= entry.getValue().buffer.capacity();
+                }
+            }
+        }
+        LOGGER.debug(PacketManagerLogger.SESSIONID, PacketManagerLogger.REGISTRATIONID, id,
+                "Subpacket cache invalidated for source : " + source + " process : " + process);
+    }
+
+    private void remove(String key) {
+        CacheEntry removed = entries.remove(key);
+        if (removed != null)
+            currentSizeBytes -= removed.buffer.capacity();
+    }
+
+    public long getHitCount() {
+        return hits.get();
+    }
+
+    public long getMissCount() {
+        return misses.get();
+    }
+
+    public long getEvictionCount() {
+        return evictions.get();
+    }
+
+    public long getSizeBytes() {
+        synchronized (entries) {
+            return currentSizeBytes;
+        }
+    }
+
+    public int getEntryCount() {
+        synchronized (entries) {
+            return entries.size();
+        }
+    }
+
+    public double getHitRatio() {
+        long total = hits.get() + misses.get();
+        return total == 0 ? 0d : (double) hits.get() / total;
+    }
+
+    private static class CacheEntry {
+        private final String encryptedHash;
+        private final ByteBuffer buffer;
+        private final ZipIndex zipIndex;
+        private final long expiresAt;
+
+        private CacheEntry(String encryptedHash, ByteBuffer buffer, ZipIndex zipIndex, long expiresAt) {
+            this.encryptedHash = encryptedHash;
+            this.buffer = buffer;
+            this.zipIndex = zipIndex;
+            this.expiresAt = expiresAt;
+        }
+
+        private boolean isExpired() {
+            return System.currentTimeMillis() > expiresAt;
+        }
+    }
+}
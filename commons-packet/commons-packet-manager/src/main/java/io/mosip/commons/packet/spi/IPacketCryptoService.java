@@ -1,5 +1,7 @@
 package io.mosip.commons.packet.spi;
 
+import io.mosip.kernel.core.util.CryptoUtil;
+
 public interface IPacketCryptoService {
 
     public byte[] sign(byte[] packet);
@@ -8,5 +10,25 @@ public interface IPacketCryptoService {
 
     public byte[] decrypt(String id, byte[] packet);
 
+    /**
+     * Decrypt a packet already split in nonce, aad and url safe base64 encoded encrypted data.
+     * By default the packet is joined again and decrypted with {@link #decrypt(String, byte[])},
+     * implementations override it to decrypt the parts without copying them.
+     *
+     * @param id            : the reference id
+     * @param nonce         : the nonce
+     * @param aad           : the aad
+     * @param encryptedData : url safe base64 encoded encrypted data
+     * @return the decrypted packet
+     */
+    public default byte[] decrypt(String id, byte[] nonce, byte[] aad, String encryptedData) {
+        byte[] data = CryptoUtil.decodeURLSafeBase64(encryptedData);
+        byte[] packet = new byte[nonce.length + aad.length + data.length];
+        System.arraycopy(nonce, 0, packet, 0, nonce.length);
+        System.arraycopy(aad, 0, packet, nonce.length, aad.length);
+        System.arraycopy(data, 0, packet, nonce.length + aad.length, data.length);
+        return decrypt(id, packet);
+    }
+
     public boolean verify(String machineId, byte[] packet, byte[] signature);
 }
@@ -1,11 +1,20 @@
 package io.mosip.commons.packet.spi;
 
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 
 import org.springframework.stereotype.Service;
 
 import io.mosip.commons.packet.dto.Document;
+import io.mosip.commons.packet.dto.DocumentContent;
+import io.mosip.commons.packet.dto.ReadPlan;
+import io.mosip.commons.packet.dto.ReadResult;
+import io.mosip.commons.packet.exception.GetAllIdentityException;
+import io.mosip.commons.packet.util.IdentityFieldReader;
 import io.mosip.kernel.biometrics.entities.BiometricRecord;
 
 /**
@@ -22,11 +31,72 @@ public interface IPacketReader {
 
     public Map<String, String> getFields(String id, List<String> fields, String source, String process);
 
+    /**
+     * Get fields with their parsed values. Objects and arrays are returned as Map and List instead of json string.
+     * Providers which can read the id object directly should override it, by default the values of getFields are parsed.
+     */
+    public default Map<String, Object> getTypedFields(String id, List<String> fields, String source, String process) {
+        Map<String, Object> typedFields = new HashMap<>();
+        for (Map.Entry<String, String> entry : getFields(id, fields, source, process).entrySet()) {
+            try {
+                typedFields.put(entry.getKey(), IdentityFieldReader.parseValue(entry.getValue()));
+            } catch (IOException e) {
+                throw new GetAllIdentityException(e.getMessage());
+            }
+        }
+        return typedFields;
+    }
+
     public Document getDocument(String id, String documentName, String source, String process);
 
+    /**
+     * Get a document with its content as stream. Providers which can stream the document from the packet
+     * should override it, by default the content of getDocument is returned.
+     */
+    public default DocumentContent getDocumentContent(String id, String documentName, String source, String process) {
+        Document document = getDocument(id, documentName, source, process);
+        if (document == null || document.getDocument() == null)
+            return null;
+        DocumentContent documentContent = new DocumentContent();
+        documentContent.setValue(document.getValue());
+        documentContent.setType(document.getType());
+        documentContent.setFormat(document.getFormat());
+        documentContent.setRefNumber(document.getRefNumber());
+        documentContent.setLength(document.getDocument().length);
+        documentContent.setContent(new ByteArrayInputStream(document.getDocument()));
+        return documentContent;
+    }
+
     public BiometricRecord getBiometric(String id, String biometricSchemaField, List<String> modalities, String source, String process);
 
     public Map<String, String> getMetaInfo(String id, String source, String process);
 
     public List<Map<String, String>> getAuditInfo(String id, String source, String process);
+
+    /**
+     * Read all the items of a plan from one packet. Providers which can share the subpackets between the items
+     * should override it, by default every item is read on its own.
+     */
+    public default ReadResult read(String id, ReadPlan plan, String source, String process) {
+        ReadResult result = new ReadResult();
+        if (plan.getFields() != null && !plan.getFields().isEmpty())
+            result.setFields(getFields(id, plan.getFields(), source, process));
+        if (plan.getDocuments() != null && !plan.getDocuments().isEmpty()) {
+            Map<String, Document> documents = new LinkedHashMap<>();
+            for (String documentName : plan.getDocuments())
+                documents.put(documentName, getDocument(id, documentName, source, process));
+            result.setDocuments(documents);
+        }
+        if (plan.getBiometrics() != null && !plan.getBiometrics().isEmpty()) {
+            Map<String, BiometricRecord> biometrics = new LinkedHashMap<>();
+            for (Map.Entry<String, List<String>> entry : plan.getBiometrics().entrySet())
+                biometrics.put(entry.getKey(), getBiometric(id, entry.getKey(), entry.getValue(), source, process));
+            result.setBiometrics(biometrics);
+        }
+        if (plan.isMetaInfo())
+            result.setMetaInfo(getMetaInfo(id, source, process));
+        if (plan.isAudits())
+            result.setAudits(getAuditInfo(id, source, process));
+        return result;
+    }
 }
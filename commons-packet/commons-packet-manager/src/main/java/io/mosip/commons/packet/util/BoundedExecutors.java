@@ -0,0 +1,38 @@
+package io.mosip.commons.packet.util;
+
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Builds the bounded executors of the packet manager. The threads are named and daemon, idle threads
+ * end after a minute, and when the queue is full the calling thread runs the task itself.
+ */
+public class BoundedExecutors {
+
+    private static final long KEEP_ALIVE_SECONDS = 60L;
+
+    private BoundedExecutors() {
+    }
+
+    /**
+     * Create a bounded executor.
+     *
+     * @param threadNamePrefix : the prefix of the thread names, followed by the thread number
+     * @param parallelism      : the number of tasks running at a time
+     * @param queueCapacity    : the number of tasks waiting for a thread
+     * @return the executor
+     */
+    public static ThreadPoolExecutor newBoundedExecutor(String threadNamePrefix, int parallelism, int queueCapacity) {
+        AtomicInteger threadNumber = new AtomicInteger();
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(parallelism, parallelism, KEEP_ALIVE_SECONDS, TimeUnit.SECONDS,
+                new LinkedBlockingQueue<>(queueCapacity), runnable -> {
+                    Thread thread = new Thread(runnable, threadNamePrefix + threadNumber.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                }, new ThreadPoolExecutor.CallerRunsPolicy());
+        executor.allowCoreThreadTimeOut(true);
+        return executor;
+    }
+}
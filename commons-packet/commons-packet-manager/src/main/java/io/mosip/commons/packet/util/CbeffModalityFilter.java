@@ -0,0 +1,136 @@
+package io.mosip.commons.packet.util;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import javax.xml.stream.XMLEventReader;
+import javax.xml.stream.XMLEventWriter;
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLOutputFactory;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.events.XMLEvent;
+
+/**
+ * Removes the segments of a cbeff xml which are not requested before it is unmarshalled.
+ * The xml is read with the streaming parser. The BDBInfo of a segment comes before its BDB, so a segment
+ * which is not requested is skipped without its biometric data being kept or decoded.
+ */
+public class CbeffModalityFilter {
+
+    private static final String BIR = "BIR";
+    private static final String BDB_INFO = "BDBInfo";
+    private static final String TYPE = "Type";
+    private static final String SUBTYPE = "Subtype";
+
+    private static final XMLInputFactory INPUT_FACTORY = createInputFactory();
+    private static final XMLOutputFactory OUTPUT_FACTORY = XMLOutputFactory.newInstance();
+
+    /**
+     * Filter the segments of the cbeff.
+     *
+     * @param cbeff   : the cbeff xml
+     * @param matcher : the requested modalities
+     * @return the cbeff xml with only the requested segments
+     * @throws XMLStreamException if the xml is invalid
+     */
+    public static byte[] filter(byte[] cbeff, ModalityMatcher matcher) throws XMLStreamException {
+        if (matcher.isAll())
+            return cbeff;
+        ByteArrayOutputStream out = new ByteArrayOutputStream(cbeff.length);
+        XMLEventReader reader = INPUT_FACTORY.createXMLEventReader(new ByteArrayInputStream(cbeff));
+        XMLEventWriter writer = OUTPUT_FACTORY.createXMLEventWriter(out, "UTF-8");
+        try {
+            int depth = 0;
+            while (reader.hasNext()) {
+                XMLEvent event = reader.nextEvent();
+                // the declaration is not copied, the filtered xml is always utf-8
+                if (event.isStartDocument())
+                    continue;
+                if (event.isStartElement()) {
+                    depth++;
+                    if (depth == 2 && BIR.equals(event.asStartElement().getName().getLocalPart())) {
+                        copySegment(event, reader, writer, matcher);
+                        depth--;
+                        continue;
+                    }
+                } else if (event.isEndElement()) {
+                    depth--;
+                }
+                writer.add(event);
+            }
+            writer.flush();
+        } finally {
+            writer.close();
+            reader.close();
+        }
+        return out.toByteArray();
+    }
+
+    /**
+     * Copy a segment if requested. The events are held until the BDBInfo is read, after that they are
+     * written or skipped directly.
+     */
+    private static void copySegment(XMLEvent start, XMLEventReader reader, XMLEventWriter writer,
+            ModalityMatcher matcher) throws XMLStreamException {
+        List<XMLEvent> pending = new ArrayList<>();
+        pending.add(start);
+        Boolean requested = null;
+        List<String> types = Collections.emptyList();
+        List<String> subtypes = Collections.emptyList();
+        String element = null;
+        StringBuilder text = new StringBuilder();
+        int depth = 1;
+        while (depth > 0 && reader.hasNext()) {
+            XMLEvent event = reader.nextEvent();
+            if (event.isStartElement()) {
+                depth++;
+                element = event.asStartElement().getName().getLocalPart();
+                text.setLength(0);
+            } else if (event.isCharacters() && requested == null) {
+                text.append(event.asCharacters().getData());
+            } else if (event.isEndElement()) {
+                depth--;
+                String name = event.asEndElement().getName().getLocalPart();
+                if (requested == null && depth == 2 && TYPE.equals(name) && TYPE.equals(element))
+                    types = getWords(text);
+                else if (requested == null && depth == 2 && SUBTYPE.equals(name) && SUBTYPE.equals(element))
+                    subtypes = getWords(text);
+                else if (requested == null && depth == 1 && BDB_INFO.equals(name)) {
+                    pending.add(event);
+                    requested = matcher.matches(types, subtypes);
+                    if (requested) {
+                        for (XMLEvent pendingEvent : pending)
+                            writer.add(pendingEvent);
+                    }
+                    pending = null;
+                    continue;
+                }
+            }
+            if (requested == null)
+                pending.add(event);
+            else if (requested)
+                writer.add(event);
+        }
+        // a segment without BDBInfo is kept
+        if (pending != null) {
+            for (XMLEvent pendingEvent : pending)
+                writer.add(pendingEvent);
+        }
+    }
+
+    private static List<String> getWords(StringBuilder text) {
+        String value = text.toString().trim();
+        return value.isEmpty() ? Collections.emptyList() : Arrays.asList(value.split("\\s+"));
+    }
+
+    private static XMLInputFactory createInputFactory() {
+        XMLInputFactory factory = XMLInputFactory.newInstance();
+        factory.setProperty(XMLInputFactory.SUPPORT_DTD, false);
+        factory.setProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, false);
+        return factory;
+    }
+}
@@ -0,0 +1,125 @@
+package io.mosip.commons.packet.util;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.util.Arrays;
+import java.util.Base64;
+
+import org.apache.commons.io.IOUtils;
+
+import io.mosip.commons.packet.constants.CryptomanagerConstant;
+import io.mosip.commons.packet.dto.EncryptedSubpacket;
+
+/**
+ * Reads an encrypted subpacket from the object store stream in a single pass.
+ * The nonce and aad are read from the head of the stream and the encrypted data is base64 encoded
+ * into one buffer while it is read, so the encrypted bytes are never held as one array.
+ */
+public class EncryptedSubpacketReader {
+
+    private static final int CHUNK_SIZE = 3 * 16 * 1024;
+
+    private EncryptedSubpacketReader() {
+    }
+
+    /**
+     * Read the encrypted subpacket.
+     *
+     * @param inputStream : the object store stream
+     * @param digest      : updated with every byte read, can be null
+     * @return the encrypted subpacket
+     * @throws IOException when the stream can not be read or is shorter than nonce and aad
+     */
+    public static EncryptedSubpacket read(InputStream inputStream, MessageDigest digest) throws IOException {
+        return read(inputStream, digest, -1);
+    }
+
+    /**
+     * Read the encrypted subpacket. When the length of the object is known the encoded data is written
+     * into a buffer of its exact size, so the only other copy is the string built from it.
+     *
+     * @param inputStream : the object store stream
+     * @param digest      : updated with every byte read, can be null
+     * @param length      : the length of the object in bytes, negative if unknown
+     * @return the encrypted subpacket
+     * @throws IOException when the stream can not be read or is shorter than nonce and aad
+     */
+    public static EncryptedSubpacket read(InputStream inputStream, MessageDigest digest, long length) throws IOException {
+        InputStream in = digest != null ? new DigestInputStream(inputStream, digest) : inputStream;
+        EncryptedSubpacket encryptedSubpacket = new EncryptedSubpacket();
+        encryptedSubpacket.setNonce(readHeader(in, CryptomanagerConstant.GCM_NONCE_LENGTH));
+        encryptedSubpacket.setAad(readHeader(in, CryptomanagerConstant.GCM_AAD_LENGTH));
+
+        long size = CryptomanagerConstant.GCM_NONCE_LENGTH + CryptomanagerConstant.GCM_AAD_LENGTH;
+        EncodedBuffer encoded = new EncodedBuffer(length > size ? getEncodedLength(length - size) : CHUNK_SIZE);
+        byte[] buffer = new byte[CHUNK_SIZE];
+        int read;
+        try (OutputStream encoder = Base64.getUrlEncoder().withoutPadding().wrap(encoded)) {
+            while ((read = IOUtils.read(in, buffer)) > 0) {
+                encoder.write(buffer, 0, read);
+                size += read;
+            }
+        }
+        encryptedSubpacket.setEncryptedData(encoded.toAsciiString());
+        encryptedSubpacket.setSize(size);
+        return encryptedSubpacket;
+    }
+
+    /**
+     * @return the length of the unpadded base64 encoding of the given number of bytes
+     */
+    private static int getEncodedLength(long length) {
+        long encodedLength = (length * 4 + 2) / 3;
+        if (encodedLength > Integer.MAX_VALUE - 8)
+            throw new IllegalArgumentException("Encrypted packet is too large : " + length);
+        return (int) encodedLength;
+    }
+
+    private static byte[] readHeader(InputStream in, int length) throws IOException {
+        byte[] header = new byte[length];
+        if (IOUtils.read(in, header) != length)
+            throw new EOFException("Encrypted packet is shorter than nonce and aad");
+        return header;
+    }
+
+    /**
+     * Byte buffer receiving the encoded data. Unlike a ByteArrayOutputStream the content is not copied
+     * once more before the string is built.
+     */
+    private static class EncodedBuffer extends OutputStream {
+
+        private byte[] buffer;
+        private int count;
+
+        private EncodedBuffer(int capacity) {
+            buffer = new byte[Math.max(capacity, 4)];
+        }
+
+        @Override
+        public void write(int b) {
+            ensureCapacity(count + 1);
+            buffer[count++] = (byte) b;
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) {
+            ensureCapacity(count + len);
+            System.arraycopy(b, off, buffer, count, len);
+            count += len;
+        }
+
+        private void ensureCapacity(int capacity) {
+            if (capacity > buffer.length)
+                buffer = Arrays.copyOf(buffer, Math.max(capacity, buffer.length + (buffer.length >> 1)));
+        }
+
+        private String toAsciiString() {
+            return new String(buffer, 0, count, StandardCharsets.US_ASCII);
+        }
+    }
+}
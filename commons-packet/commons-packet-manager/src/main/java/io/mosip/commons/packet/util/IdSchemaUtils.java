@@ -11,10 +11,13 @@ import static io.mosip.commons.packet.constants.PacketManagerConstants.SCHEMA_JS
 
 import java.io.IOException;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.apache.commons.lang3.ArrayUtils;
@@ -106,6 +109,27 @@ public class IdSchemaUtils {
         return fieldCategory;
     }
 
+    /**
+     * Gets the subpackets which can hold a field, from the field category in id schema.
+     * A field without category is written to every subpacket.
+     *
+     * @param fieldName       the field name in schema
+     * @param idschemaVersion : the idschema version used to create packet
+     * @return the subpacket names, null if the field is not in schema
+     * @throws IOException
+     */
+    public Set<String> getSubpackets(String fieldName, Double idschemaVersion) throws IOException, ApiNotAccessibleException {
+        String idSchema = getIdSchema(idschemaVersion);
+        JSONObject properties = getJSONObjFromStr(idSchema, PROPERTIES);
+        JSONObject identity = getJSONObj(properties, IDENTITY);
+        JSONObject property = getJSONObj(identity, PROPERTIES);
+        JSONObject value = getJSONObj(property, fieldName);
+        if (value == null)
+            return null;
+        String packets = categorySubpacketMapping.get(value.optString(SCHEMA_CATEGORY, "none").toLowerCase());
+        return packets != null ? new HashSet<>(Arrays.asList(packets.split(","))) : null;
+    }
+
     /**
      * Get the id schema from syncdata service
      *
@@ -0,0 +1,71 @@
+package io.mosip.commons.packet.util;
+
+import static io.mosip.commons.packet.constants.PacketManagerConstants.IDENTITY;
+
+import java.io.IOException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Reads selected fields of the identity from an id object json with the streaming parser.
+ * Only the requested fields are materialized, every other value is skipped without being built.
+ */
+public class IdentityFieldReader {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    /**
+     * Read fields from the identity of the id object.
+     *
+     * @param idObject : the id object json
+     * @param fields   : the field names, case sensitive
+     * @return the found fields in document order, with values as parsed into a map (Number, String, Boolean, Map or List)
+     * @throws IOException if the json is invalid
+     */
+    public static Map<String, Object> readFields(byte[] idObject, Set<String> fields) throws IOException {
+        Map<String, Object> result = new LinkedHashMap<>();
+        try (JsonParser parser = MAPPER.getFactory().createParser(idObject)) {
+            if (parser.nextToken() != JsonToken.START_OBJECT)
+                return result;
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String name = parser.getCurrentName();
+                JsonToken token = parser.nextToken();
+                if (IDENTITY.equals(name) && token == JsonToken.START_OBJECT) {
+                    while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                        String field = parser.getCurrentName();
+                        parser.nextToken();
+                        if (fields.contains(field))
+                            result.put(field, MAPPER.readValue(parser, Object.class));
+                        else
+                            parser.skipChildren();
+                    }
+                    return result;
+                }
+                parser.skipChildren();
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Parse a field value given as string. Json objects and arrays are parsed into Map and List,
+     * any other value is returned as it is.
+     *
+     * @param value : the field value
+     * @return the parsed value
+     * @throws IOException if the object or array is invalid
+     */
+    public static Object parseValue(String value) throws IOException {
+        if (value == null)
+            return null;
+        String trimmed = value.trim();
+        if (trimmed.startsWith("{") || trimmed.startsWith("["))
+            return MAPPER.readValue(trimmed, Object.class);
+        return value;
+    }
+}
@@ -0,0 +1,109 @@
+package io.mosip.commons.packet.util;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import org.apache.commons.collections4.CollectionUtils;
+
+import io.mosip.kernel.biometrics.constant.BiometricType;
+import io.mosip.kernel.biometrics.entities.BIR;
+
+/**
+ * Requested biometric modalities, split once into the words compared with the type or subtype of a segment.
+ * A modality like "Left Thumb" matches the subtype [Left, Thumb] and a modality like "Face" matches the type Face.
+ * The comparison is case sensitive, as in the cbeff.
+ */
+public class ModalityMatcher {
+
+    private static final ModalityMatcher ALL = new ModalityMatcher(Collections.emptySet());
+
+    private final Set<List<String>> modalities;
+
+    private ModalityMatcher(Set<List<String>> modalities) {
+        this.modalities = modalities;
+    }
+
+    /**
+     * Compile the requested modalities.
+     *
+     * @param modalities : the modalities, null or empty for all
+     * @return the matcher
+     */
+    public static ModalityMatcher of(List<String> modalities) {
+        if (modalities == null || modalities.isEmpty())
+            return ALL;
+        Set<List<String>> compiled = new HashSet<>();
+        for (String modality : modalities) {
+            if (modality != null)
+                compiled.add(Arrays.asList(modality.split(" ")));
+        }
+        return new ModalityMatcher(compiled);
+    }
+
+    /**
+     * @return true if no modality is requested and every segment is returned
+     */
+    public boolean isAll() {
+        return this == ALL;
+    }
+
+    /**
+     * Check if the subtype or type words are a requested modality.
+     *
+     * @param typeSubtype : the words of the subtype or a single type
+     * @return true if requested
+     */
+    public boolean matches(List<String> typeSubtype) {
+        return isAll() || modalities.contains(typeSubtype);
+    }
+
+    /**
+     * Check if a segment is requested. The subtype is searched first and then each type,
+     * like in {@link #filter(List)}.
+     *
+     * @param types    : the type values of the segment
+     * @param subtypes : the subtype of the segment
+     * @return true if requested
+     */
+    public boolean matches(List<String> types, List<String> subtypes) {
+        if (isAll())
+            return true;
+        if (subtypes != null && !subtypes.isEmpty() && matches(subtypes))
+            return true;
+        if (types != null) {
+            for (String type : types) {
+                if (matches(Collections.singletonList(type)))
+                    return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Get the requested segments.
+     *
+     * @param birList : the segments
+     * @return the requested segments, the same list if every segment is requested
+     */
+    public List<BIR> filter(List<BIR> birList) {
+        if (isAll() || birList == null)
+            return birList;
+        List<BIR> segments = new ArrayList<>();
+        // first search modalities in subtype and if not present search in type
+        for (BIR bir : birList) {
+            if (CollectionUtils.isNotEmpty(bir.getBdbInfo().getSubtype()) && matches(bir.getBdbInfo().getSubtype())) {
+                segments.add(bir);
+            } else {
+                for (BiometricType type : bir.getBdbInfo().getType()) {
+                    if (matches(Collections.singletonList(type.value())))
+                        segments.add(bir);
+                }
+            }
+        }
+        return segments;
+    }
+}
@@ -145,4 +145,20 @@ public class PacketHelper {
         }
         return process;
     }
+
+    /**
+     * This method returns the iteration at the end of the process, like in {@link #getProcessWithoutIteration(String)}.
+     *
+     * @param process
+     * @return the iteration or null if the process has no iteration
+     */
+    public static Integer getIteration(String process) {
+        if (StringUtils.isNotEmpty(process)) {
+            String[] processArr = process.split(DASH);
+            String lastElement = processArr[processArr.length - 1];
+            if (processArr.length > 1 && StringUtils.isNumeric(lastElement))
+                return Integer.valueOf(lastElement);
+        }
+        return null;
+    }
 }
@@ -3,6 +3,7 @@ package io.mosip.commons.packet.util;
 import static io.mosip.commons.packet.constants.PacketManagerConstants.IDENTITY;
 import static io.mosip.commons.packet.constants.PacketManagerConstants.IDSCHEMA_VERSION;
 
+import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
@@ -19,9 +20,7 @@ import io.mosip.commons.packet.facade.PacketReader;
 import io.mosip.kernel.core.exception.ExceptionUtils;
 import io.mosip.kernel.core.util.HMACUtils2;
 import org.apache.commons.io.IOUtils;
-import org.json.JSONArray;
 import org.json.JSONException;
-import org.json.JSONTokener;
 import org.json.simple.JSONObject;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
@@ -57,6 +56,8 @@ public class PacketValidator {
 
     private static final Logger LOGGER = PacketManagerLogger.getLogger(PacketValidator.class);
     private static final String FIELD_LIST = "mosip.kernel.idobjectvalidator.mandatory-attributes.reg-processor.%s";
+    private static final String PACKET_DATA_HASH = "PACKET_DATA_HASH";
+    private static final String PACKET_OPERATIONS_HASH = "PACKET_OPERATIONS_HASH";
 
     private static final String eventId = "PACKET_MANAGER";
     private static final String eventName = "PACKET MANAGER";
@@ -99,23 +100,21 @@ public class PacketValidator {
     }
 
     private boolean validateSchema(String id, String source, String process) throws IOException, InvalidIdSchemaException, IdObjectIOException, JSONException {
-        Map<String, Object> objectMap = new HashMap<>();
         try {
             String idschemaValueFromMappingJson = idSchemaUtils.getIdschemaVersionFromMappingJson();
             String idschemaVersion = reader.getField(id, idschemaValueFromMappingJson, source, process, false);
             List<String> allFields = idSchemaUtils.getDefaultFields(Double.valueOf(idschemaVersion));
-            Map<String, String> fieldsMap = reader.getFields(id, allFields, source, process, false);
-            objectMap.putAll(fieldsMap);
+            LinkedHashMap demographicIdentity = loadDemographicIdentity(reader.getTypedFields(id, allFields, source, process));
 
             if (convertIdschemaToDouble)
-                objectMap.put(idschemaValueFromMappingJson, Double.valueOf(fieldsMap.get(idschemaValueFromMappingJson)));
+                demographicIdentity.put(idschemaValueFromMappingJson, Double.valueOf(String.valueOf(demographicIdentity.get(idschemaValueFromMappingJson))));
 
             String fields = env.getProperty(String.format(FIELD_LIST, IdObjectsSchemaValidationOperationMapper.getOperation(process)));
             LinkedHashMap finalMap = new LinkedHashMap();
-            finalMap.put(IDENTITY, loadDemographicIdentity(objectMap));
+            finalMap.put(IDENTITY, demographicIdentity);
             JSONObject finalIdObject = new JSONObject(finalMap);
 
-            return idObjectValidator.validateIdObject(idSchemaUtils.getIdSchema(Double.valueOf(objectMap.get(
+            return idObjectValidator.validateIdObject(idSchemaUtils.getIdSchema(Double.valueOf(demographicIdentity.get(
                     PacketManagerConstants.IDSCHEMA_VERSION).toString())), finalIdObject, Arrays.asList(fields.split(",")));
         } catch (IdObjectValidationFailedException e) {
             LOGGER.error(PacketManagerLogger.SESSIONID, PacketManagerLogger.REGISTRATIONID, id,
@@ -145,7 +144,14 @@ public class PacketValidator {
                 List hashseq2List = finalMap.get("hashSequence2") != null ? (ArrayList) mapper.readValue(finalMap.get("hashSequence2"), ArrayList.class) : null;
                 Map<String, InputStream> checksumMap = new HashMap<>();
 
-                boolean fileValidation = validateFiles(hashseq1List, hashseq2List, checksumMap, packet);
+                // all files needed for file and checksum validation are extracted together
+                List<String> allFileNames = getFileNames(hashseq1List, hashseq2List);
+                List<String> entryNames = new ArrayList<>(allFileNames);
+                entryNames.add(PACKET_DATA_HASH);
+                entryNames.add(PACKET_OPERATIONS_HASH);
+                Map<String, byte[]> files = ZipUtils.unzipAndGetFiles(packet.getPacket(), entryNames);
+
+                boolean fileValidation = validateFiles(allFileNames, checksumMap, files);
 
                 if (fileValidation) {
                     LOGGER.info(PacketManagerLogger.SESSIONID, PacketManagerLogger.REGISTRATIONID, id, "File validation successful for packet name : " + packetName);
@@ -156,7 +162,7 @@ public class PacketValidator {
                     return false;
                 }
 
-                boolean checksumValidation = checksumValidation(hashseq1List, hashseq2List, checksumMap, packet);
+                boolean checksumValidation = checksumValidation(hashseq1List, hashseq2List, checksumMap, files);
 
                 if (checksumValidation) {
                     LOGGER.info(PacketManagerLogger.SESSIONID, PacketManagerLogger.REGISTRATIONID, id, "Checksum validation successful for packet name : " + packetName);
@@ -222,7 +228,7 @@ public class PacketValidator {
         return finalMap;
     }
 
-    private boolean validateFiles(List hashseq1List, List hashseq2List, Map<String, InputStream> checksumMap, Packet packet) throws JsonProcessingException, IOException {
+    private List<String> getFileNames(List hashseq1List, List hashseq2List) throws JsonProcessingException, IOException {
         List<String> allFileNames = new ArrayList<>();
         if (hashseq1List != null && !hashseq1List.isEmpty()) {
             for (Object o : hashseq1List) {
@@ -237,20 +243,23 @@ public class PacketValidator {
                 allFileNames.addAll(fieldValueArray.getValue());
             }
         }
+        return allFileNames;
+    }
 
+    private boolean validateFiles(List<String> allFileNames, Map<String, InputStream> checksumMap, Map<String, byte[]> files) {
         List<String> notFoundFiles = new ArrayList<>();
         allFileNames.forEach(v -> notFoundFiles.add(v));
         for (String fileName : allFileNames) {
-            InputStream inputStream = ZipUtils.unzipAndGetFile(packet.getPacket(), fileName);
-            if (inputStream != null && inputStream.available() > 0)
-                checksumMap.put(fileName, inputStream);
+            byte[] file = files.get(fileName);
+            if (file != null && file.length > 0)
+                checksumMap.put(fileName, new ByteArrayInputStream(file));
             notFoundFiles.remove(fileName);
         }
 
         return (notFoundFiles.size() == 0);
     }
 
-    private boolean checksumValidation(List hashseq1List, List hashseq2List, Map<String, InputStream> checksumMap, Packet packet) throws JsonProcessingException, IOException, NoSuchAlgorithmException {
+    private boolean checksumValidation(List hashseq1List, List hashseq2List, Map<String, InputStream> checksumMap, Map<String, byte[]> files) throws JsonProcessingException, IOException, NoSuchAlgorithmException {
         List<FieldValueArray> hashSequence1 = new ArrayList<>();
         List<FieldValueArray> hashSequence2 = new ArrayList<>();
         boolean isdataCheckSumEqual = false;
@@ -271,18 +280,16 @@ public class PacketValidator {
         }
 
         // Getting hash bytes from packet
-        InputStream dataHashStream = ZipUtils.unzipAndGetFile(packet.getPacket(), "PACKET_DATA_HASH");
-        InputStream operationsHashStream = ZipUtils.unzipAndGetFile(packet.getPacket(), "PACKET_OPERATIONS_HASH");
+        byte[] dataHashByte = files.get(PACKET_DATA_HASH);
+        byte[] operationsHashByte = files.get(PACKET_OPERATIONS_HASH);
 
-        if (dataHashStream != null) {
-            byte[] dataHashByte = IOUtils.toByteArray(dataHashStream);
+        if (dataHashByte != null) {
             byte[] dataHash = generateHash(hashSequence1, checksumMap);
             isdataCheckSumEqual = MessageDigest.isEqual(dataHash, dataHashByte);
         } else
             isdataCheckSumEqual = true;
 
-        if (operationsHashStream != null) {
-            byte[] operationsHashByte = IOUtils.toByteArray(operationsHashStream);
+        if (operationsHashByte != null) {
             byte[] operationsHash = generateHash(hashSequence2, checksumMap);
             isoperationsCheckSumEqual = MessageDigest.isEqual(operationsHash, operationsHashByte);
         } else
@@ -292,31 +299,17 @@ public class PacketValidator {
 
     }
 
-    private LinkedHashMap loadDemographicIdentity(Map<String, Object> fieldMap) throws IOException, JSONException {
+    /**
+     * Objects and arrays are kept as parsed, any other value is validated as string.
+     */
+    private LinkedHashMap loadDemographicIdentity(Map<String, Object> fieldMap) {
         LinkedHashMap demographicIdentity = new LinkedHashMap();
-        for (Map.Entry e : fieldMap.entrySet()) {
-            if (e.getValue() != null) {
-                String value = e.getValue().toString();
-                if (value != null) {
-                    Object json = new JSONTokener(value).nextValue();
-                    if (json instanceof org.json.JSONObject) {
-                        HashMap<String, Object> hashMap = new ObjectMapper().readValue(value, HashMap.class);
-                        demographicIdentity.putIfAbsent(e.getKey(), hashMap);
-                    }
-                    else if (json instanceof JSONArray) {
-                        List jsonList = new ArrayList<>();
-                        JSONArray jsonArray = new JSONArray(value);
-                        for (int i = 0; i < jsonArray.length(); i++) {
-                            Object obj = jsonArray.get(i);
-                            HashMap<String, Object> hashMap = new ObjectMapper().readValue(obj.toString(), HashMap.class);
-                            jsonList.add(hashMap);
-                        }
-                        demographicIdentity.putIfAbsent(e.getKey(), jsonList);
-                    } else
-                        demographicIdentity.putIfAbsent(e.getKey(), e.getValue());
-                } else
-                    demographicIdentity.putIfAbsent(e.getKey(), value);
-            }
+        for (Map.Entry<String, Object> e : fieldMap.entrySet()) {
+            Object value = e.getValue();
+            if (value instanceof Map || value instanceof List)
+                demographicIdentity.putIfAbsent(e.getKey(), value);
+            else if (value != null)
+                demographicIdentity.putIfAbsent(e.getKey(), value.toString());
         }
         return demographicIdentity;
     }
@@ -0,0 +1,248 @@
+package io.mosip.commons.packet.util;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.SequenceInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.zip.DataFormatException;
+import java.util.zip.Inflater;
+import java.util.zip.InflaterInputStream;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipException;
+
+import org.apache.commons.io.FilenameUtils;
+
+/**
+ * Index of the entries of an in-memory zip built from its central directory.
+ * A file is looked up by its name without extension, case-insensitive, like {@link ZipUtils#unzipAndGetFile}.
+ * Only the requested entry is inflated. Zip64 archives and encrypted entries are not indexed.
+ * The index does not hold the zip, it can be used with any identical copy of it.
+ */
+public class ZipIndex {
+
+    private static final int LOCAL_HEADER_SIGNATURE = 0x04034b50;
+    private static final int CENTRAL_HEADER_SIGNATURE = 0x02014b50;
+    private static final int END_OF_CENTRAL_DIRECTORY_SIGNATURE = 0x06054b50;
+    private static final int LOCAL_HEADER_LENGTH = 30;
+    private static final int CENTRAL_HEADER_LENGTH = 46;
+    private static final int END_OF_CENTRAL_DIRECTORY_LENGTH = 22;
+    private static final int MAX_COMMENT_LENGTH = 0xFFFF;
+    private static final int ENCRYPTED_FLAG = 1;
+
+    private final int length;
+    private final Map<String, IndexEntry> entries;
+
+    private ZipIndex(int length, Map<String, IndexEntry> entries) {
+        this.length = length;
+        this.entries = entries;
+    }
+
+    /**
+     * Build the index of the zip.
+     *
+     * @param packet : the zip
+     * @return the index or null if the central directory can not be used
+     */
+    public static ZipIndex of(byte[] packet) {
+        int end = findEndOfCentralDirectory(packet);
+        if (end < 0)
+            return null;
+        int totalEntries = readShort(packet, end + 10);
+        long directorySize = readInt(packet, end + 12);
+        long directoryOffset = readInt(packet, end + 16);
+        // zip64 archives keep the real values in another record
+        if (totalEntries == 0xFFFF || directorySize == 0xFFFFFFFFL || directoryOffset == 0xFFFFFFFFL
+                || directoryOffset + directorySize > end)
+            return null;
+
+        Map<String, IndexEntry> entries = new HashMap<>();
+        int position = (int) directoryOffset;
+        for (int i = 0; i < totalEntries; i++) {
+            if (position + CENTRAL_HEADER_LENGTH > end || readInt(packet, position) != CENTRAL_HEADER_SIGNATURE)
+                return null;
+            int flags = readShort(packet, position + 8);
+            int method = readShort(packet, position + 10);
+            long compressedSize = readInt(packet, position + 20);
+            long size = readInt(packet, position + 24);
+            int nameLength = readShort(packet, position + 28);
+            int extraLength = readShort(packet, position + 30);
+            int commentLength = readShort(packet, position + 32);
+            long localHeaderOffset = readInt(packet, position + 42);
+            if ((flags & ENCRYPTED_FLAG) != 0 || (method != ZipEntry.STORED && method != ZipEntry.DEFLATED)
+                    || size > Integer.MAX_VALUE || localHeaderOffset + LOCAL_HEADER_LENGTH > directoryOffset
+                    || position + CENTRAL_HEADER_LENGTH + nameLength > end)
+                return null;
+            String name = new String(packet, position + CENTRAL_HEADER_LENGTH, nameLength, StandardCharsets.UTF_8);
+            String key = getKey(FilenameUtils.removeExtension(name));
+            // the first matching entry wins, as with a sequential scan
+            if (key != null)
+                entries.putIfAbsent(key, new IndexEntry(method, (int) localHeaderOffset, compressedSize, (int) size));
+            position += CENTRAL_HEADER_LENGTH + nameLength + extraLength + commentLength;
+        }
+        return new ZipIndex(packet.length, entries);
+    }
+
+    /**
+     * Get the file from zip.
+     *
+     * @param packet : the indexed zip
+     * @param file   : the file name without extension
+     * @return the file or null if not present
+     * @throws ZipException if the entry is corrupt
+     */
+    public InputStream getFile(byte[] packet, String file) throws ZipException {
+        String key = getKey(file);
+        IndexEntry entry = key != null ? entries.get(key) : null;
+        return entry != null ? new ByteArrayInputStream(read(packet, entry)) : null;
+    }
+
+    /**
+     * Open the file from zip as a stream. A stored file is read directly from the zip,
+     * a deflated file is inflated while it is read.
+     *
+     * @param packet : the indexed zip
+     * @param file   : the file name without extension
+     * @return the file stream or null if not present
+     * @throws ZipException if the entry is corrupt
+     */
+    public InputStream openFile(byte[] packet, String file) throws ZipException {
+        String key = getKey(file);
+        IndexEntry entry = key != null ? entries.get(key) : null;
+        if (entry == null)
+            return null;
+        int dataOffset = getDataOffset(packet, entry);
+        if (entry.method == ZipEntry.STORED) {
+            if (entry.compressedSize != entry.size)
+                throw new ZipException("invalid entry size");
+            return new ByteArrayInputStream(packet, dataOffset, entry.size);
+        }
+        return new EntryInflaterInputStream(new ByteArrayInputStream(packet, dataOffset, (int) entry.compressedSize));
+    }
+
+    /**
+     * Get the uncompressed size of the file.
+     *
+     * @param file : the file name without extension
+     * @return the size or -1 if not present
+     */
+    public long getSize(String file) {
+        String key = getKey(file);
+        IndexEntry entry = key != null ? entries.get(key) : null;
+        return entry != null ? entry.size : -1;
+    }
+
+    /**
+     * Check if the file is present in zip.
+     *
+     * @param file : the file name without extension
+     * @return true if present
+     */
+    public boolean contains(String file) {
+        String key = getKey(file);
+        return key != null && entries.containsKey(key);
+    }
+
+    private int getDataOffset(byte[] packet, IndexEntry entry) throws ZipException {
+        if (packet.length != length)
+            throw new ZipException("zip does not match the index");
+        int offset = entry.localHeaderOffset;
+        if (readInt(packet, offset) != LOCAL_HEADER_SIGNATURE)
+            throw new ZipException("invalid local header");
+        long dataOffset = (long) offset + LOCAL_HEADER_LENGTH + readShort(packet, offset + 26) + readShort(packet, offset + 28);
+        if (dataOffset + entry.compressedSize > packet.length)
+            throw new ZipException("invalid entry size");
+        return (int) dataOffset;
+    }
+
+    private byte[] read(byte[] packet, IndexEntry entry) throws ZipException {
+        int dataOffset = getDataOffset(packet, entry);
+        if (entry.method == ZipEntry.STORED) {
+            if (entry.compressedSize != entry.size)
+                throw new ZipException("invalid entry size");
+            byte[] data = new byte[entry.size];
+            System.arraycopy(packet, dataOffset, data, 0, entry.size);
+            return data;
+        }
+        byte[] data = new byte[entry.size];
+        Inflater inflater = new Inflater(true);
+        try {
+            inflater.setInput(packet, dataOffset, (int) entry.compressedSize);
+            int inflated = 0;
+            while (inflated < data.length) {
+                int read = inflater.inflate(data, inflated, data.length - inflated);
+                if (read == 0 && (inflater.finished() || inflater.needsInput() || inflater.needsDictionary()))
+                    break;
+                inflated += read;
+            }
+            if (inflated != data.length)
+                throw new ZipException("invalid entry size");
+            return data;
+        } catch (DataFormatException e) {
+            throw new ZipException(e.getMessage());
+        } finally {
+            inflater.end();
+        }
+    }
+
+    private static String getKey(String name) {
+        String normalized = FilenameUtils.normalize(name);
+        return normalized != null ? normalized.toLowerCase(Locale.ROOT) : null;
+    }
+
+    private static int findEndOfCentralDirectory(byte[] packet) {
+        int last = packet.length - END_OF_CENTRAL_DIRECTORY_LENGTH;
+        int first = Math.max(0, last - MAX_COMMENT_LENGTH);
+        for (int position = last; position >= first; position--) {
+            if (readInt(packet, position) == END_OF_CENTRAL_DIRECTORY_SIGNATURE)
+                return position;
+        }
+        return -1;
+    }
+
+    private static int readShort(byte[] packet, int offset) {
+        return (packet[offset] & 0xFF) | (packet[offset + 1] & 0xFF) << 8;
+    }
+
+    private static long readInt(byte[] packet, int offset) {
+        return (readShort(packet, offset) | (long) readShort(packet, offset + 2) << 16) & 0xFFFFFFFFL;
+    }
+
+    /**
+     * Inflates a raw deflated entry and releases the inflater when closed.
+     */
+    private static class EntryInflaterInputStream extends InflaterInputStream {
+        private boolean closed;
+
+        private EntryInflaterInputStream(InputStream in) {
+            // the extra byte lets the inflater finish raw deflate data, as in ZipFile
+            super(new SequenceInputStream(in, new ByteArrayInputStream(new byte[1])), new Inflater(true));
+        }
+
+        @Override
+        public void close() throws IOException {
+            if (!closed) {
+                closed = true;
+                inf.end();
+                super.close();
+            }
+        }
+    }
+
+    private static class IndexEntry {
+        private final int method;
+        private final int localHeaderOffset;
+        private final long compressedSize;
+        private final int size;
+
+        private IndexEntry(int method, int localHeaderOffset, long compressedSize, int size) {
+            this.method = method;
+            this.localHeaderOffset = localHeaderOffset;
+            this.compressedSize = compressedSize;
+            this.size = size;
+        }
+    }
+}
@@ -3,6 +3,7 @@ package io.mosip.commons.packet.util;
 import org.apache.commons.io.FileUtils;
 import org.apache.commons.io.FilenameUtils;
 import org.apache.commons.io.IOCase;
+import org.apache.commons.io.IOUtils;
 
 import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
@@ -10,6 +11,14 @@ import java.io.File;
 import java.io.FileOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.WeakHashMap;
 import java.util.zip.ZipEntry;
 import java.util.zip.ZipInputStream;
 
@@ -18,6 +27,11 @@ import java.util.zip.ZipInputStream;
  */
 public class ZipUtils {
 
+    /**
+     * indexes of the zips read recently, held as long as the zip itself is referenced.
+     */
+    private static final Map<byte[], ZipIndex> INDEXES = Collections.synchronizedMap(new WeakHashMap<>());
+
     /**
      * Method to unzip the file in-memeory and search the required file and return
      * it
@@ -28,6 +42,120 @@ public class ZipUtils {
      * @throws IOException if any error occored while unzipping the file
      */
     public static InputStream unzipAndGetFile(byte[] packet, String file) throws IOException {
+        ZipIndex zipIndex = getIndex(packet);
+        return zipIndex != null ? zipIndex.getFile(packet, file) : scanAndGetFile(packet, file);
+    }
+
+    /**
+     * Open a file of the zip as a stream without extracting it first. The caller closes the stream.
+     *
+     * @param packet zip file
+     * @param file   file to search within zip file
+     * @return the file stream or null if not present
+     * @throws IOException if any error occored while reading the zip
+     */
+    public static InputStream openFile(byte[] packet, String file) throws IOException {
+        ZipIndex zipIndex = getIndex(packet);
+        if (zipIndex != null)
+            return zipIndex.openFile(packet, file);
+
+        ZipInputStream zis = new ZipInputStream(new ByteArrayInputStream(packet));
+        ZipEntry ze = zis.getNextEntry();
+        while (ze != null) {
+            if (FilenameUtils.equals(FilenameUtils.removeExtension(ze.getName()), file, true, IOCase.INSENSITIVE))
+                return zis;
+            zis.closeEntry();
+            ze = zis.getNextEntry();
+        }
+        zis.close();
+        return null;
+    }
+
+    /**
+     * Get the uncompressed size of a file of the zip.
+     *
+     * @param packet zip file
+     * @param file   file to search within zip file
+     * @return the size or -1 if not present or not known without reading the zip
+     */
+    public static long getFileSize(byte[] packet, String file) {
+        ZipIndex zipIndex = getIndex(packet);
+        return zipIndex != null ? zipIndex.getSize(file) : -1;
+    }
+
+    /**
+     * Method to get several files from the zip in one pass over it
+     *
+     * @param packet zip file to be unzipped
+     * @param files  files to search within zip file
+     * @return the found files by the requested name, files which are not present are left out
+     * @throws IOException if any error occored while unzipping the file
+     */
+    public static Map<String, byte[]> unzipAndGetFiles(byte[] packet, Collection<String> files) throws IOException {
+        Map<String, byte[]> result = new HashMap<>();
+        ZipIndex zipIndex = getIndex(packet);
+        if (zipIndex != null) {
+            for (String file : files) {
+                if (!result.containsKey(file)) {
+                    InputStream fileStream = zipIndex.getFile(packet, file);
+                    if (fileStream != null)
+                        result.put(file, IOUtils.toByteArray(fileStream));
+                }
+            }
+            return result;
+        }
+
+        // requested names by the normalized name, several requested names can match one entry
+        Map<String, List<String>> requested = new HashMap<>();
+        for (String file : files) {
+            String normalized = FilenameUtils.normalize(file);
+            if (normalized != null)
+                requested.computeIfAbsent(normalized.toLowerCase(Locale.ROOT), k -> new ArrayList<>()).add(file);
+        }
+        try (ZipInputStream zis = new ZipInputStream(new ByteArrayInputStream(packet))) {
+            ZipEntry ze = zis.getNextEntry();
+            while (ze != null && !requested.isEmpty()) {
+                String normalized = FilenameUtils.normalize(FilenameUtils.removeExtension(ze.getName()));
+                // the first matching entry wins, as with unzipAndGetFile
+                List<String> names = normalized != null ? requested.remove(normalized.toLowerCase(Locale.ROOT)) : null;
+                if (names != null) {
+                    byte[] file = IOUtils.toByteArray(zis);
+                    names.forEach(name -> result.put(name, file));
+                }
+                zis.closeEntry();
+                ze = zis.getNextEntry();
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Get the central directory index of the zip, the index is built once per zip.
+     *
+     * @param packet the zip
+     * @return the index or null if the zip can only be read sequentially
+     */
+    public static ZipIndex getIndex(byte[] packet) {
+        ZipIndex zipIndex = INDEXES.get(packet);
+        if (zipIndex == null && !INDEXES.containsKey(packet)) {
+            zipIndex = ZipIndex.of(packet);
+            INDEXES.put(packet, zipIndex);
+        }
+        return zipIndex;
+    }
+
+    /**
+     * Reuse the index of an identical copy of the zip.
+     *
+     * @param packet   the zip
+     * @param zipIndex the index built for a copy of the zip
+     */
+    public static void putIndex(byte[] packet, ZipIndex zipIndex) {
+        if (zipIndex != null)
+            INDEXES.put(packet, zipIndex);
+    }
+
+    private static InputStream scanAndGetFile(byte[] packet, String file) throws IOException {
         ByteArrayInputStream packetStream = new ByteArrayInputStream(packet);
         ByteArrayOutputStream out = new ByteArrayOutputStream();
         boolean flag = false;
@@ -0,0 +1,83 @@
+package io.mosip.commons.packet.test.dto;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+
+import org.junit.Test;
+
+import io.mosip.commons.packet.dto.IdentityFieldMap;
+
+public class IdentityFieldMapTest {
+
+    @Test
+    public void testGetIgnoreCase() {
+        IdentityFieldMap identityFields = new IdentityFieldMap();
+        identityFields.put("IDSchemaVersion", 0.1);
+        identityFields.putIfAbsent("fullName", "[ ]");
+        identityFields.putIfAbsent("FULLNAME", "other");
+
+        assertEquals(0.1, identityFields.getIgnoreCase("idschemaversion"));
+        assertEquals("[ ]", identityFields.getIgnoreCase("FullName"));
+        assertNull(identityFields.getIgnoreCase("email"));
+
+        // the other case variant is found once the indexed one is removed
+        identityFields.remove("fullName");
+        assertEquals("other", identityFields.getIgnoreCase("fullName"));
+        identityFields.keySet().remove("FULLNAME");
+        assertNull(identityFields.getIgnoreCase("fullName"));
+    }
+
+    @Test
+    public void testGetIgnoreCaseSkipsNullVariant() {
+        IdentityFieldMap identityFields = new IdentityFieldMap();
+        identityFields.put("email", null);
+        identityFields.put("EMAIL", "info@mosip.io");
+        identityFields.put("phone", null);
+
+        assertEquals("info@mosip.io", identityFields.getIgnoreCase("Email"));
+        assertNull(identityFields.getIgnoreCase("phone"));
+    }
+
+    @Test
+    public void testGetIgnoreCaseAfterOtherMutators() {
+        IdentityFieldMap identityFields = new IdentityFieldMap();
+        identityFields.computeIfAbsent("gender", k -> "MLE");
+        identityFields.compute("city", (k, v) -> "KTA");
+        identityFields.merge("zone", "BSN", (v1, v2) -> v2);
+
+        assertEquals("MLE", identityFields.getIgnoreCase("GENDER"));
+        assertEquals("KTA", identityFields.getIgnoreCase("CITY"));
+        assertEquals("BSN", identityFields.getIgnoreCase("ZONE"));
+
+        identityFields.replace("city", "RBT");
+        identityFields.entrySet().removeIf(e -> e.getKey().equals("gender"));
+        identityFields.put("Gender", "FLE");
+
+        assertEquals("RBT", identityFields.getIgnoreCase("city"));
+        assertEquals("FLE", identityFields.getIgnoreCase("gender"));
+    }
+
+    @Test
+    public void testIndexIsSerialized() throws IOException, ClassNotFoundException {
+        IdentityFieldMap identityFields = new IdentityFieldMap();
+        identityFields.put("phone", "9606139887");
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (ObjectOutputStream oos = new ObjectOutputStream(out)) {
+            oos.writeObject(identityFields);
+        }
+        IdentityFieldMap copy;
+        try (ObjectInputStream ois = new ObjectInputStream(new ByteArrayInputStream(out.toByteArray()))) {
+            copy = (IdentityFieldMap) ois.readObject();
+        }
+
+        assertEquals(identityFields, copy);
+        assertEquals("9606139887", copy.getIgnoreCase("PHONE"));
+    }
+}
@@ -24,10 +24,16 @@ import org.powermock.api.mockito.PowerMockito;
 import org.powermock.core.classloader.annotations.PowerMockIgnore;
 import org.powermock.core.classloader.annotations.PrepareForTest;
 import org.powermock.modules.junit4.PowerMockRunner;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
 import org.springframework.test.util.ReflectionTestUtils;
 
 import io.mosip.commons.khazana.dto.ObjectDto;
 import io.mosip.commons.packet.dto.Document;
+import io.mosip.commons.packet.dto.DocumentContent;
+import io.mosip.commons.packet.dto.ReadPlan;
+import io.mosip.commons.packet.dto.ReadResult;
+import io.mosip.commons.packet.dto.IdentityFieldMap;
 import io.mosip.commons.packet.exception.NoAvailableProviderException;
 import io.mosip.commons.packet.facade.PacketReader;
 import io.mosip.commons.packet.impl.PacketReaderImpl;
@@ -61,6 +67,12 @@ public class PacketReaderTest {
     @Mock
 	private PacketKeeper packetKeeper;
 
+    @Mock
+    private CacheManager cacheManager;
+
+    @Mock
+    private Cache cache;
+
     @Before
     public void setup() {
         PowerMockito.mockStatic(PacketHelper.class);
@@ -96,6 +108,17 @@ public class PacketReaderTest {
         assertTrue(result.equals(allFields.get("name")));
     }
 
+    @Test
+    public void testGetFieldIgnoreCase() {
+        IdentityFieldMap identityFields = new IdentityFieldMap();
+        identityFields.putAll(allFields);
+        Mockito.when(packetReaderProvider.getAll(anyString(), anyString(), anyString())).thenReturn(identityFields);
+
+        String result = packetReader.getField(id, "EMAIL", source, process, false);
+
+        assertTrue(result.equals(allFields.get("email")));
+    }
+
     @Test
     public void testGetFields() {
         String field = "name";
@@ -122,6 +145,19 @@ public class PacketReaderTest {
         assertTrue(result.size() == 1);
     }
 
+    @Test
+    public void testGetTypedFields() {
+        String field = "name";
+        List<String> fieldList = Lists.newArrayList(field);
+        Map<String, Object> fieldMap = new HashMap<>();
+        fieldMap.put(field, Lists.newArrayList(field));
+        Mockito.when(packetReaderProvider.getTypedFields(anyString(), anyList(), anyString(), anyString())).thenReturn(fieldMap);
+
+        Map<String, Object> result = packetReader.getTypedFields(id, fieldList, source, process);
+
+        assertTrue(result.get(field) instanceof List);
+    }
+
     @Test
     public void testGetDocument() {
         String docName = "poa";
@@ -135,6 +171,32 @@ public class PacketReaderTest {
         assertTrue(result.equals(document));
     }
 
+    @Test
+    public void testGetDocumentContent() {
+        DocumentContent documentContent = new DocumentContent();
+        documentContent.setValue("poa");
+
+        Mockito.when(packetReaderProvider.getDocumentContent(anyString(), anyString(), anyString(), anyString())).thenReturn(documentContent);
+
+        DocumentContent result = packetReader.getDocumentContent(id, "poa", source, process);
+
+        assertTrue(result == documentContent);
+    }
+
+    @Test
+    public void testRead() {
+        ReadPlan plan = new ReadPlan();
+        plan.setFields(Lists.newArrayList("name"));
+        plan.setMetaInfo(true);
+        ReadResult readResult = new ReadResult();
+
+        Mockito.when(packetReaderProvider.read(id, plan, source, process)).thenReturn(readResult);
+
+        ReadResult result = packetReader.read(id, plan, source, process);
+
+        assertTrue(result == readResult);
+    }
+
     @Test
     public void testGetBiometrics() {
         List<BIR> birTypeList = new ArrayList<>();
@@ -163,6 +225,38 @@ public class PacketReaderTest {
         assertTrue(result.equals(biometricRecord));
     }
 
+    @Test
+    public void testGetBiometricsSubsetFromCache() {
+        BIR finger = new BIR.BIRBuilder().build();
+        BDBInfo fingerInfo = new BDBInfo.BDBInfoBuilder().build();
+        fingerInfo.setType(Lists.newArrayList(BiometricType.FINGER));
+        fingerInfo.setSubtype(Lists.newArrayList("Left", "RingFinger"));
+        finger.setBdbInfo(fingerInfo);
+        BIR face = new BIR.BIRBuilder().build();
+        BDBInfo faceInfo = new BDBInfo.BDBInfoBuilder().build();
+        faceInfo.setType(Lists.newArrayList(BiometricType.FACE));
+        face.setBdbInfo(faceInfo);
+        BiometricRecord biometricRecord = new BiometricRecord();
+        biometricRecord.setSegments(Lists.newArrayList(finger, face));
+        String key = "biometrics-" + id + "-individualBiometrics-" + source + "-" + process;
+
+        Mockito.when(cacheManager.getCache("packets")).thenReturn(cache);
+        Mockito.when(cache.get(key, BiometricRecord.class)).thenReturn(null, biometricRecord);
+        Mockito.when(packetReaderProvider.getBiometric(anyString(), anyString(), any(), anyString(), anyString())).thenReturn(biometricRecord);
+
+        BiometricRecord result = packetReader.getBiometric(id, "individualBiometrics", Lists.newArrayList("Face"), source, process, false);
+        assertEquals(Lists.newArrayList(face), result.getSegments());
+
+        result = packetReader.getBiometric(id, "individualBiometrics", Lists.newArrayList("Left RingFinger"), source, process, false);
+        assertEquals(Lists.newArrayList(finger), result.getSegments());
+
+        result = packetReader.getBiometric(id, "individualBiometrics", Lists.newArrayList(), source, process, false);
+        assertTrue(result.getSegments().size() == 2);
+
+        Mockito.verify(packetReaderProvider, Mockito.times(1)).getBiometric(id, "individualBiometrics", null, source, process);
+        Mockito.verify(cache).put(key, biometricRecord);
+    }
+
     @Test
     public void testGetMetaInfo() {
         Map<String, String> metaMap = new HashMap<>();
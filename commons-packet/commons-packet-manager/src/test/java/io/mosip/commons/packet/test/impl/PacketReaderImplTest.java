@@ -1,5 +1,6 @@
 package io.mosip.commons.packet.test.impl;
 
+import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyObject;
@@ -12,9 +13,13 @@ import java.io.InputStream;
 import java.security.NoSuchAlgorithmException;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
 
 import com.fasterxml.jackson.databind.JsonMappingException;
 import io.mosip.commons.packet.facade.PacketReader;
@@ -26,8 +31,10 @@ import org.junit.Before;
 import org.junit.Ignore;
 import org.junit.Test;
 import org.junit.runner.RunWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Mockito;
 import org.mockito.MockitoAnnotations;
 import org.powermock.api.mockito.PowerMockito;
 import org.powermock.core.classloader.annotations.PowerMockIgnore;
@@ -39,7 +46,11 @@ import org.springframework.test.util.ReflectionTestUtils;
 import com.fasterxml.jackson.databind.ObjectMapper;
 
 import io.mosip.commons.packet.dto.Document;
+import io.mosip.commons.packet.dto.DocumentContent;
 import io.mosip.commons.packet.dto.Packet;
+import io.mosip.commons.packet.dto.PacketInfo;
+import io.mosip.commons.packet.dto.ReadPlan;
+import io.mosip.commons.packet.dto.ReadResult;
 import io.mosip.commons.packet.exception.GetAllIdentityException;
 import io.mosip.commons.packet.exception.GetAllMetaInfoException;
 import io.mosip.commons.packet.exception.GetDocumentException;
@@ -202,6 +213,7 @@ public class PacketReaderImplTest {
 
         MockitoAnnotations.initMocks(this);
         ReflectionTestUtils.setField(iPacketReader, "packetNames", "id,evidence,optional");
+        ReflectionTestUtils.setField(iPacketReader, "subpacketReadExecutor", Executors.newFixedThreadPool(3));
         when(packetKeeper.getPacket(any())).thenReturn(packet);
 
         PowerMockito.mockStatic(ZipUtils.class);
@@ -237,6 +249,43 @@ public class PacketReaderImplTest {
         assertTrue("Should be true", result.size() == 6);
     }
 
+    @Test
+    public void getAllFetchesSubpacketsConcurrentlyTest() throws Exception {
+        // the id subpacket is only returned once the other subpackets are being fetched
+        CountDownLatch othersStarted = new CountDownLatch(2);
+        List<String> completed = Collections.synchronizedList(new ArrayList<>());
+        when(packetKeeper.getPacket(any())).thenAnswer(invocation -> {
+            String packetName = ((PacketInfo) invocation.getArgument(0)).getPacketName();
+            if (packetName.equals("id"))
+                assertTrue("Should be true", othersStarted.await(5, TimeUnit.SECONDS));
+            else
+                othersStarted.countDown();
+            Packet subpacket = new Packet();
+            subpacket.setPacket(packetName.getBytes());
+            completed.add(packetName);
+            return subpacket;
+        });
+        when(ZipUtils.unzipAndGetFile(any(), anyString()))
+                .thenAnswer(invocation -> new ByteArrayInputStream(invocation.getArgument(0)));
+        when(IOUtils.toByteArray(any(InputStream.class)))
+                .thenAnswer(invocation -> ((ByteArrayInputStream) invocation.getArgument(0)).readAllBytes());
+        when(objectMapper.readValue(anyString(), any(Class.class))).thenAnswer(invocation -> {
+            Map<String, Object> identity = new LinkedHashMap<>();
+            identity.put("source", invocation.getArgument(0));
+            identity.put(invocation.getArgument(0), "present");
+            Map<String, Object> finalMap = new LinkedHashMap<>();
+            finalMap.put("identity", identity);
+            return finalMap;
+        });
+
+        Map<String, Object> result = iPacketReader.getAll("id", "source", "process");
+
+        assertEquals("id", completed.get(completed.size() - 1));
+        // the subpackets are merged in packet name order, not in completion order
+        assertEquals("id", result.get("source"));
+        assertTrue("Should be true", result.containsKey("evidence") && result.containsKey("optional"));
+    }
+
     @Test(expected = GetAllIdentityException.class)
     public void getAllExceptionTest() throws IOException {
         when(objectMapper.readValue(anyString(), any(Class.class))).thenReturn(null);
@@ -273,6 +322,87 @@ public class PacketReaderImplTest {
         assertTrue("Should be true", result.size() == 2);
     }
 
+    @Test
+    public void getFieldsReadsOnlyRequestedFieldsTest() throws IOException {
+        List<String> list = Lists.newArrayList("postalCode", "city", "notPresent");
+
+        Map<String, String> result = iPacketReader.getFields("id", list, "source", "process");
+
+        assertTrue("Should be true", result.size() == 3);
+        assertTrue("Should be true", result.get("postalCode").equals("14000"));
+        assertTrue("Should be true", result.get("city").contains("Kenitra"));
+        assertTrue("Should be true", result.get("notPresent") == null);
+        Mockito.verify(objectMapper, Mockito.never()).readValue(anyString(), any(Class.class));
+    }
+
+    @Test
+    public void getFieldReadsOnlyFirstSubpacketTest() throws Exception {
+        when(idSchemaUtils.getIdschemaVersionFromMappingJson()).thenReturn("IDSchemaVersion");
+
+        String result = iPacketReader.getField("id", "phone", "source", "process");
+
+        assertTrue("Should be true", result.equals("9606139887"));
+        ArgumentCaptor<PacketInfo> packetInfo = ArgumentCaptor.forClass(PacketInfo.class);
+        Mockito.verify(packetKeeper, Mockito.times(1)).getPacket(packetInfo.capture());
+        assertTrue("Should be true", packetInfo.getValue().getPacketName().equals("id"));
+        Mockito.verify(idSchemaUtils, Mockito.never()).getSubpackets(any(), any());
+    }
+
+    @Test
+    public void getFieldsReadsOnlySchemaSubpacketsTest() throws Exception {
+        when(idSchemaUtils.getIdschemaVersionFromMappingJson()).thenReturn("IDSchemaVersion");
+        when(idSchemaUtils.getSubpackets("notPresent", 0.1)).thenReturn(Collections.singleton("evidence"));
+        List<String> list = Lists.newArrayList("phone", "notPresent");
+
+        Map<String, String> result = iPacketReader.getFields("id", list, "source", "process");
+
+        assertTrue("Should be true", result.get("phone").equals("9606139887"));
+        assertTrue("Should be true", result.get("notPresent") == null);
+        ArgumentCaptor<PacketInfo> packetInfo = ArgumentCaptor.forClass(PacketInfo.class);
+        Mockito.verify(packetKeeper, Mockito.times(2)).getPacket(packetInfo.capture());
+        assertTrue("Should be true", packetInfo.getAllValues().get(0).getPacketName().equals("id"));
+        assertTrue("Should be true", packetInfo.getAllValues().get(1).getPacketName().equals("evidence"));
+    }
+
+    @Test
+    public void getFieldsReadsNullFieldFromNextSubpacketTest() throws Exception {
+        when(idSchemaUtils.getIdschemaVersionFromMappingJson()).thenReturn("IDSchemaVersion");
+        when(idSchemaUtils.getSubpackets("email", 0.1)).thenReturn(Collections.singleton("evidence"));
+        when(IOUtils.toByteArray(any(InputStream.class))).thenReturn(
+                "{ \"identity\" : { \"IDSchemaVersion\" : 0.1, \"email\" : null } }".getBytes(),
+                "{ \"identity\" : { \"email\" : \"evidence@mosip.io\" } }".getBytes());
+        List<String> list = Lists.newArrayList("email");
+
+        Map<String, String> result = iPacketReader.getFields("id", list, "source", "process");
+
+        assertTrue("Should be true", "evidence@mosip.io".equals(result.get("email")));
+        Mockito.verify(packetKeeper, Mockito.times(2)).getPacket(any());
+    }
+
+    @Test
+    public void getFieldsReadsAllSubpacketsWhenNotInSchemaTest() throws Exception {
+        when(idSchemaUtils.getIdschemaVersionFromMappingJson()).thenReturn("IDSchemaVersion");
+        when(idSchemaUtils.getSubpackets(any(), any())).thenReturn(null);
+        List<String> list = Lists.newArrayList("notPresent");
+
+        Map<String, String> result = iPacketReader.getFields("id", list, "source", "process");
+
+        assertTrue("Should be true", result.get("notPresent") == null);
+        Mockito.verify(packetKeeper, Mockito.times(3)).getPacket(any());
+    }
+
+    @Test
+    public void getTypedFieldsTest() throws IOException {
+        List<String> list = Lists.newArrayList("postalCode", "city", "notPresent");
+
+        Map<String, Object> result = iPacketReader.getTypedFields("id", list, "source", "process");
+
+        assertTrue("Should be true", result.size() == 2);
+        assertTrue("Should be true", result.get("postalCode").equals("14000"));
+        assertTrue("Should be true", result.get("city") instanceof List);
+        Mockito.verify(objectMapper, Mockito.never()).readValue(anyString(), any(Class.class));
+    }
+
     @Test
     public void getDocumentTest() {
         List<String> list = Lists.newArrayList("phone", "email");
@@ -296,6 +426,22 @@ public class PacketReaderImplTest {
 
     }
 
+    @Test
+    public void getDocumentContentTest() throws IOException {
+        ByteArrayInputStream content = new ByteArrayInputStream("document".getBytes());
+        when(packetReader.getField("id","0.1","source","process",false)).thenReturn("0.1");
+        when(packetReader.getField("id",docName,"source","process",false)).thenReturn(keyValueMap.get(docName).toString());
+        when(ZipUtils.openFile(any(), anyString())).thenReturn(content);
+        when(ZipUtils.getFileSize(any(), anyString())).thenReturn(8L);
+
+        DocumentContent result = iPacketReader.getDocumentContent("id", docName, "source", "process");
+
+        assertTrue("Should be true", result.getContent() == content);
+        assertTrue("Should be true", result.getLength() == 8);
+        assertTrue("Should be true", result.getType().equals("DOC003"));
+        assertTrue("Should be true", result.getFormat().equals("jpg"));
+    }
+
     @Test
     public void getBiometricsTest() throws Exception {
 		BIR birType = new BIR();
@@ -330,6 +476,35 @@ public class PacketReaderImplTest {
         assertTrue("Should be true", result.getSegments().size() == 2);
     }
 
+    @Test
+    public void getBiometricsByModalitiesTest() throws Exception {
+        BIR birType = new BIR();
+        BIR bir1 = new BIR();
+        BDBInfo bdbInfoType1 = new BDBInfo();
+        bdbInfoType1.setType(Lists.newArrayList(BiometricType.FINGER));
+        bdbInfoType1.setSubtype(Lists.newArrayList("Left", "RingFinger"));
+        bir1.setBdbInfo(bdbInfoType1);
+        BIR bir2 = new BIR();
+        BDBInfo bdbInfoType2 = new BDBInfo();
+        bdbInfoType2.setType(Lists.newArrayList(BiometricType.FACE));
+        bdbInfoType2.setSubtype(new ArrayList<>());
+        bir2.setBdbInfo(bdbInfoType2);
+
+        PowerMockito.mockStatic(CbeffValidator.class);
+        birType.setBirs(Lists.newArrayList(bir1, bir2));
+        when(CbeffValidator.getBIRFromXML(any())).thenReturn(birType);
+
+        when(packetReader.getField("id",biometricFieldName,"source","process",false)).thenReturn(keyValueMap.get(biometricFieldName).toString());
+
+        BiometricRecord result = iPacketReader.getBiometric("id", biometricFieldName, Lists.newArrayList("Left RingFinger"), "source", "process");
+        assertTrue("Should be true", result.getSegments().size() == 1);
+        assertTrue("Should be true", result.getSegments().get(0) == bir1);
+
+        result = iPacketReader.getBiometric("id", biometricFieldName, Lists.newArrayList("Face", "Right Thumb"), "source", "process");
+        assertTrue("Should be true", result.getSegments().size() == 1);
+        assertTrue("Should be true", result.getSegments().get(0) == bir2);
+    }
+
     @Test
     @Ignore
     public void getBiometricsExceptionTest() throws Exception {
@@ -418,6 +593,41 @@ public class PacketReaderImplTest {
         assertTrue("Should be true", result.size() == 2);
     }
 
+    @Test
+    public void readTest() throws Exception {
+        Map<String, Object> metaInfo = new LinkedHashMap<>();
+        metaInfo.put("operationsData", "[]");
+        Map<String, Object> finalMap = new LinkedHashMap<>();
+        finalMap.put("identity", metaInfo);
+        when(objectMapper.readValue(anyString(), any(Class.class))).thenReturn(finalMap);
+        when(idSchemaUtils.getIdschemaVersionFromMappingJson()).thenReturn("IDSchemaVersion");
+        ReadPlan plan = new ReadPlan();
+        plan.setFields(Lists.newArrayList("phone", "notPresent"));
+        plan.setDocuments(Lists.newArrayList("proofOfAddress"));
+        plan.setMetaInfo(true);
+
+        ReadResult result = iPacketReader.read("id", plan, "source", "process");
+
+        assertTrue("Should be true", result.getFields().get("phone").equals("9606139887"));
+        assertTrue("Should be true", result.getFields().containsKey("notPresent"));
+        assertTrue("Should be true", result.getDocuments().get("proofOfAddress").getType().equals("DOC004"));
+        assertTrue("Should be true", result.getMetaInfo().get("operationsData").equals("[]"));
+        assertTrue("Should be true", result.getBiometrics() == null && result.getAudits() == null);
+        // every subpacket is fetched once for all the items
+        Mockito.verify(packetKeeper, Mockito.times(3)).getPacket(any());
+    }
+
+    @Test(expected = GetDocumentException.class)
+    public void readDocumentExceptionTest() throws Exception {
+        when(idSchemaUtils.getIdschemaVersionFromMappingJson()).thenReturn("IDSchemaVersion");
+        when(idSchemaUtils.getSource(any(), any())).thenThrow(new IOException("exception"));
+        ReadPlan plan = new ReadPlan();
+        plan.setFields(Lists.newArrayList("phone"));
+        plan.setDocuments(Lists.newArrayList("proofOfAddress"));
+
+        iPacketReader.read("id", plan, "source", "process");
+    }
+
     @Test
     public void getAuditTest() throws IOException {
         ReflectionTestUtils.setField(iPacketReader, "packetNames", "id");
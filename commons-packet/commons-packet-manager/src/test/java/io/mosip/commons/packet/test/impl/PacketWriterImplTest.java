@@ -1,8 +1,10 @@
 package io.mosip.commons.packet.test.impl;
 
+import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import java.util.ArrayList;
@@ -15,6 +17,7 @@ import org.apache.commons.io.IOUtils;
 import org.junit.Before;
 import org.junit.Test;
 import org.junit.runner.RunWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.powermock.core.classloader.annotations.PowerMockIgnore;
@@ -23,6 +26,7 @@ import org.powermock.modules.junit4.PowerMockRunner;
 import org.springframework.context.annotation.PropertySource;
 import org.springframework.test.util.ReflectionTestUtils;
 
+import io.mosip.commons.packet.dto.ContainerDirectory;
 import io.mosip.commons.packet.dto.Document;
 import io.mosip.commons.packet.dto.PacketInfo;
 import io.mosip.commons.packet.impl.PacketWriterImpl;
@@ -137,5 +141,11 @@ public class PacketWriterImplTest {
         List<PacketInfo> result = packetWriter.persistPacket(id, "0.1", schemaJson, source, process, null, null, true);
 
         assertTrue(result != null && result.size() == 3);
+        ArgumentCaptor<ContainerDirectory> captor = ArgumentCaptor.forClass(ContainerDirectory.class);
+        verify(packetKeeper).putDirectory(any(), captor.capture());
+        ContainerDirectory directory = captor.getValue();
+        assertTrue(directory.getFields().contains("email"));
+        assertTrue(directory.getFields().contains("proofOfAddress"));
+        assertEquals(Arrays.asList("Left RingFinger"), directory.getBiometrics().get("individualBiometrics").get("Finger"));
     }
 }
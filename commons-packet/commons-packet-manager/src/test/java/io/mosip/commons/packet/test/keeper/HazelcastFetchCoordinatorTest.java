@@ -0,0 +1,95 @@
+package io.mosip.commons.packet.test.keeper;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.fail;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.springframework.test.context.junit4.SpringRunner;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.hazelcast.core.HazelcastInstance;
+import com.hazelcast.core.IMap;
+
+import io.mosip.commons.packet.exception.PacketKeeperException;
+import io.mosip.commons.packet.keeper.HazelcastFetchCoordinator;
+
+@RunWith(SpringRunner.class)
+public class HazelcastFetchCoordinatorTest {
+
+    private static final String key = "1234567890_source_process_id";
+    private static final byte[] encryptedSubpacket = "encryptedsubpacket".getBytes();
+
+    @InjectMocks
+    private HazelcastFetchCoordinator hazelcastFetchCoordinator;
+
+    @Mock
+    private HazelcastInstance hazelcastInstance;
+
+    @Mock
+    private IMap<Object, Object> inFlight;
+
+    @Before
+    public void setup() throws InterruptedException {
+        ReflectionTestUtils.setField(hazelcastFetchCoordinator, "mapName", "inflight");
+        ReflectionTestUtils.setField(hazelcastFetchCoordinator, "lockWaitSeconds", 1L);
+        ReflectionTestUtils.setField(hazelcastFetchCoordinator, "lockLeaseSeconds", 2L);
+        ReflectionTestUtils.setField(hazelcastFetchCoordinator, "resultTtlSeconds", 3L);
+        Mockito.when(hazelcastInstance.getMap(anyString())).thenReturn(inFlight);
+        Mockito.when(inFlight.tryLock(any(), anyLong(), any(), anyLong(), any())).thenReturn(true);
+    }
+
+    @Test
+    public void testFetchSharesEncryptedSubpacket() throws PacketKeeperException {
+        byte[] result = hazelcastFetchCoordinator.fetch(key, () -> encryptedSubpacket);
+
+        assertArrayEquals(encryptedSubpacket, result);
+        Mockito.verify(inFlight).set(eq(key), eq(encryptedSubpacket), eq(3L), any());
+        Mockito.verify(inFlight).unlock(key);
+    }
+
+    @Test
+    public void testFetchReusesSharedSubpacket() throws PacketKeeperException {
+        Mockito.when(inFlight.get(key)).thenReturn(encryptedSubpacket);
+
+        byte[] result = hazelcastFetchCoordinator.fetch(key, () -> {
+            fail("the shared subpacket is not downloaded again");
+            return null;
+        });
+
+        assertArrayEquals(encryptedSubpacket, result);
+        Mockito.verify(inFlight, Mockito.never()).set(any(), any(), anyLong(), any());
+        Mockito.verify(inFlight).unlock(key);
+    }
+
+    @Test
+    public void testFetchReturnsSubpacketWhenShareFails() throws PacketKeeperException {
+        Mockito.doThrow(new RuntimeException("cluster unavailable")).when(inFlight).set(any(), any(), anyLong(), any());
+
+        byte[] result = hazelcastFetchCoordinator.fetch(key, () -> encryptedSubpacket);
+
+        assertArrayEquals(encryptedSubpacket, result);
+        Mockito.verify(inFlight).unlock(key);
+    }
+
+    @Test
+    public void testFetchReleasesLockWhenDownloadFails() {
+        try {
+            hazelcastFetchCoordinator.fetch(key, () -> {
+                throw new PacketKeeperException("code", "message");
+            });
+            fail("PacketKeeperException expected");
+        } catch (PacketKeeperException e) {
+            Mockito.verify(inFlight).unlock(key);
+            Mockito.verify(inFlight, Mockito.never()).set(any(), any(), anyLong(), any());
+        }
+    }
+}
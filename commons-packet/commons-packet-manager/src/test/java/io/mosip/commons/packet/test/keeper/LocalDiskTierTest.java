@@ -0,0 +1,129 @@
+package io.mosip.commons.packet.test.keeper;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.apache.commons.io.IOUtils;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import io.mosip.commons.packet.constants.PacketManagerConstants;
+import io.mosip.commons.packet.keeper.LocalDiskTier;
+import io.mosip.commons.packet.keeper.SubpacketCache;
+
+public class LocalDiskTierTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private LocalDiskTier localDiskTier;
+
+    private static final String key = SubpacketCache.getKey("1234567890", "source", "process", "1234567890_id");
+
+    @Before
+    public void setup() {
+        localDiskTier = newTier();
+    }
+
+    private LocalDiskTier newTier() {
+        LocalDiskTier tier = new LocalDiskTier();
+        ReflectionTestUtils.setField(tier, "enabled", true);
+        ReflectionTestUtils.setField(tier, "directory", folder.getRoot().getAbsolutePath());
+        ReflectionTestUtils.setField(tier, "maxSizeBytes", 20L);
+        ReflectionTestUtils.setField(tier, "objectMapper", new ObjectMapper());
+        tier.init();
+        return tier;
+    }
+
+    private void store(String key, String hash, String content) throws IOException {
+        LocalDiskTier.PendingEntry pendingEntry = localDiskTier.stage(key);
+        try (InputStream in = pendingEntry.wrap(new ByteArrayInputStream(content.getBytes()))) {
+            IOUtils.toByteArray(in);
+        }
+        Map<String, Object> metaInfo = new HashMap<>();
+        metaInfo.put(PacketManagerConstants.ENCRYPTED_HASH, hash);
+        pendingEntry.commit(hash, metaInfo);
+    }
+
+    @Test
+    public void testOpenSuccess() throws IOException {
+        store(key, "hash", "encrypted");
+
+        assertTrue(localDiskTier.contains(key));
+        try (InputStream in = localDiskTier.open(key, "hash")) {
+            assertArrayEquals("encrypted".getBytes(), IOUtils.toByteArray(in));
+        }
+        assertEquals(1, localDiskTier.getHitCount());
+    }
+
+    @Test
+    public void testStaleHash() throws IOException {
+        store(key, "hash", "encrypted");
+
+        assertNull(localDiskTier.open(key, "newhash"));
+        assertFalse(localDiskTier.contains(key));
+        assertEquals(1, localDiskTier.getMissCount());
+    }
+
+    @Test
+    public void testDiscardedEntryNotVisible() throws IOException {
+        LocalDiskTier.PendingEntry pendingEntry = localDiskTier.stage(key);
+        try (InputStream in = pendingEntry.wrap(new ByteArrayInputStream("encrypted".getBytes()))) {
+            IOUtils.toByteArray(in);
+        }
+        pendingEntry.discard();
+
+        assertFalse(localDiskTier.contains(key));
+    }
+
+    @Test
+    public void testEvictionBySize() throws IOException {
+        String otherKey = SubpacketCache.getKey("1234567890", "source", "process", "1234567890_evidence");
+        store(key, "hash", "encryptedpacket");
+        store(otherKey, "hash", "encryptedpacket");
+
+        assertFalse(localDiskTier.contains(key));
+        assertTrue(localDiskTier.contains(otherKey));
+        assertEquals(1, localDiskTier.getEvictionCount());
+        assertEquals(15, localDiskTier.getSizeBytes());
+    }
+
+    @Test
+    public void testIndexRebuiltOnRestart() throws IOException {
+        store(key, "hash", "encrypted");
+
+        LocalDiskTier restarted = newTier();
+
+        assertTrue(restarted.contains(key));
+        assertEquals(9, restarted.getSizeBytes());
+    }
+
+    @Test
+    public void testContainerInvalidation() throws IOException {
+        store(key, "hash", "encrypted");
+
+        localDiskTier.invalidate("1234567890", "source", "process");
+
+        assertFalse(localDiskTier.contains(key));
+        assertFalse(newTier().contains(key));
+    }
+
+    @Test
+    public void testKeyOutsideDirectoryIgnored() {
+        assertNull(localDiskTier.stage("../../outside"));
+    }
+}
@@ -0,0 +1,62 @@
+package io.mosip.commons.packet.test.keeper;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import io.mosip.commons.packet.constants.ErrorCode;
+import io.mosip.commons.packet.keeper.MissingPacketCache;
+import io.mosip.commons.packet.keeper.SubpacketCache;
+
+public class MissingPacketCacheTest {
+
+    private MissingPacketCache missingPacketCache;
+
+    private static final String key = SubpacketCache.getKey("1234567890", "source", "process", "1234567890_id");
+
+    @Before
+    public void setup() {
+        missingPacketCache = new MissingPacketCache();
+        ReflectionTestUtils.setField(missingPacketCache, "enabled", true);
+        ReflectionTestUtils.setField(missingPacketCache, "maxEntries", 1);
+        ReflectionTestUtils.setField(missingPacketCache, "ttlSeconds", 10L);
+    }
+
+    @Test
+    public void testGetErrorCode() {
+        missingPacketCache.putMissing(key, ErrorCode.PACKET_NOT_FOUND.getErrorCode());
+
+        assertEquals(ErrorCode.PACKET_NOT_FOUND.getErrorCode(), missingPacketCache.getErrorCode(key));
+        assertEquals(1, missingPacketCache.getHitCount());
+    }
+
+    @Test
+    public void testExpiredEntry() {
+        ReflectionTestUtils.setField(missingPacketCache, "ttlSeconds", -1L);
+        missingPacketCache.putMissing(key, ErrorCode.PACKET_NOT_FOUND.getErrorCode());
+
+        assertNull(missingPacketCache.getErrorCode(key));
+    }
+
+    @Test
+    public void testMaxEntries() {
+        String otherKey = SubpacketCache.getKey("1234567890", "source", "process", "1234567890_evidence");
+        missingPacketCache.putMissing(key, ErrorCode.PACKET_NOT_FOUND.getErrorCode());
+        missingPacketCache.putMissing(otherKey, ErrorCode.PACKET_NOT_FOUND.getErrorCode());
+
+        assertNull(missingPacketCache.getErrorCode(key));
+        assertEquals(1, missingPacketCache.getEntryCount());
+    }
+
+    @Test
+    public void testContainerInvalidation() {
+        missingPacketCache.putMissing(key, ErrorCode.PACKET_NOT_FOUND.getErrorCode());
+
+        missingPacketCache.invalidate("1234567890", "source", "process");
+
+        assertNull(missingPacketCache.getErrorCode(key));
+    }
+}
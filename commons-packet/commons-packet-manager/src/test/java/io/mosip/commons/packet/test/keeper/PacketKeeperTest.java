@@ -1,9 +1,13 @@
 package io.mosip.commons.packet.test.keeper;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
 
 import java.io.ByteArrayInputStream;
 import java.io.InputStream;
@@ -12,13 +16,19 @@ import java.util.Date;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
 import io.mosip.commons.packet.util.PacketManagerHelper;
+import org.apache.commons.io.IOUtils;
 import org.assertj.core.util.Lists;
 import org.junit.Before;
 import org.junit.Ignore;
 import org.junit.Test;
 import org.junit.runner.RunWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.Mockito;
@@ -26,15 +36,25 @@ import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.test.context.junit4.SpringRunner;
 import org.springframework.test.util.ReflectionTestUtils;
 
+import com.hazelcast.core.HazelcastInstance;
+import com.hazelcast.core.IMap;
+
 import io.mosip.commons.khazana.dto.ObjectDto;
 import io.mosip.commons.khazana.spi.ObjectStoreAdapter;
+import io.mosip.commons.packet.constants.ErrorCode;
 import io.mosip.commons.packet.constants.PacketManagerConstants;
+import io.mosip.commons.packet.dto.ContainerDirectory;
 import io.mosip.commons.packet.dto.Packet;
 import io.mosip.commons.packet.dto.PacketInfo;
 import io.mosip.commons.packet.dto.TagDto;
 import io.mosip.commons.packet.dto.TagRequestDto;
 import io.mosip.commons.packet.exception.PacketKeeperException;
+import io.mosip.commons.packet.keeper.HazelcastFetchCoordinator;
+import io.mosip.commons.packet.keeper.LocalDiskTier;
+import io.mosip.commons.packet.keeper.MissingPacketCache;
 import io.mosip.commons.packet.keeper.PacketKeeper;
+import io.mosip.commons.packet.keeper.SignatureVerificationCache;
+import io.mosip.commons.packet.keeper.SubpacketCache;
 import io.mosip.commons.packet.spi.IPacketCryptoService;
 import io.mosip.kernel.core.exception.BaseUncheckedException;
 import io.mosip.kernel.core.util.DateUtils;
@@ -64,6 +84,24 @@ public class PacketKeeperTest {
     @Qualifier("OnlinePacketCryptoServiceImpl")
     private IPacketCryptoService onlineCrypto;
 
+    @Mock
+    private SubpacketCache subpacketCache;
+
+    @Mock
+    private SignatureVerificationCache signatureVerificationCache;
+
+    @Mock
+    private LocalDiskTier localDiskTier;
+
+    @Mock
+    private MissingPacketCache missingPacketCache;
+
+    @Mock
+    private HazelcastInstance hazelcastInstance;
+
+    @Mock
+    private IMap<Object, Object> inFlight;
+
     /*@Mock
     private OfflinePacketCryptoServiceImpl offlineCrypto;*/
 
@@ -73,6 +111,8 @@ public class PacketKeeperTest {
     private static final String id = "1234567890";
     private static final String source = "source";
     private static final String process = "process";
+    // 12 bytes nonce, 32 bytes aad and the encrypted data
+    private static final String encryptedPacket = "nonce-12byte" + "aaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaa" + "encryptedpacket";
 
     @Before
     public void setup() {
@@ -82,10 +122,11 @@ public class PacketKeeperTest {
         ReflectionTestUtils.setField(packetKeeper, "centerIdLength", 5);
         ReflectionTestUtils.setField(packetKeeper, "machineIdLength", 5);
         ReflectionTestUtils.setField(packetKeeper, "disablePacketSignatureVerification", false);
+        ReflectionTestUtils.setField(packetKeeper, "objectStoreExecutor", Executors.newFixedThreadPool(2));
 
         packetInfo = new PacketInfo();
         packetInfo.setCreationDate(DateUtils.getCurrentDateTimeString());
-        packetInfo.setEncryptedHash("yWxtW-jQihLntc3Bsgf6ayQwl0yGgD2IkWdedv2ZLCA");
+        packetInfo.setEncryptedHash("eFY2sFcVED_f9XgE9TxGg8uEMenEHvFjemVN642aX-w");
         packetInfo.setId(id);
         packetInfo.setProcess(process);
         packetInfo.setSource(source);
@@ -101,17 +142,17 @@ public class PacketKeeperTest {
         metaMap.put(PacketManagerConstants.SOURCE, source);
         metaMap.put(PacketManagerConstants.PROCESS, process);
         metaMap.put(PacketManagerConstants.SIGNATURE, "signaturesignaturesignaturesignaturesignaturesignaturesignaturesignaturesignaturesignature");
-        metaMap.put(PacketManagerConstants.ENCRYPTED_HASH, "yWxtW-jQihLntc3Bsgf6ayQwl0yGgD2IkWdedv2ZLCA");
+        metaMap.put(PacketManagerConstants.ENCRYPTED_HASH, "eFY2sFcVED_f9XgE9TxGg8uEMenEHvFjemVN642aX-w");
 
         Mockito.when(onlineCrypto.encrypt(any(), any())).thenReturn("encryptedpacket".getBytes());
         Mockito.when(onlineCrypto.sign(any())).thenReturn("signed data".getBytes());
         Mockito.when(swiftAdapter.putObject(any(), any(), any(),any(), any(), any())).thenReturn(true);
         Mockito.when(swiftAdapter.addObjectMetaData(any(), any(), any(),any(), any(), any())).thenReturn(metaMap);
 
-        InputStream is = new ByteArrayInputStream("input".getBytes());
+        InputStream is = new ByteArrayInputStream(encryptedPacket.getBytes());
 
         Mockito.when(swiftAdapter.getObject(any(), any(),any(), any(), any())).thenReturn(is);
-        Mockito.when(onlineCrypto.decrypt(any(), any())).thenReturn("decryptedpacket".getBytes());
+        Mockito.when(onlineCrypto.decrypt(any(), any(), any(), any())).thenReturn("decryptedpacket".getBytes());
         Mockito.when(swiftAdapter.getMetaData(any(), any(),any(), any(), any())).thenReturn(metaMap);
         Mockito.when(helper.getRefId(any(), any())).thenReturn("11001_11001");
         Mockito.when(onlineCrypto.verify(any(),any(), any())).thenReturn(true);
@@ -138,6 +179,13 @@ public class PacketKeeperTest {
         packetKeeper.putPacket(packet);
     }
 
+    @Test(expected = PacketKeeperException.class)
+    public void testPutPacketSignException() throws PacketKeeperException {
+        Mockito.when(onlineCrypto.sign(any())).thenThrow(new BaseUncheckedException("code","message"));
+
+        packetKeeper.putPacket(packet);
+    }
+
     @Test(expected = PacketKeeperException.class)
     public void testObjectStoreAdapterException() throws PacketKeeperException {
         ReflectionTestUtils.setField(packetKeeper, "adapterName", "wrongAdapterName");
@@ -161,6 +209,102 @@ public class PacketKeeperTest {
         assertTrue(result.getPacketInfo().getProcess().equals(process));
     }
 
+    @Test
+    public void testGetPacketFromCache() throws PacketKeeperException {
+        Mockito.when(subpacketCache.contains(any())).thenReturn(true);
+        Mockito.when(subpacketCache.get(any(), any())).thenReturn("cachedpacket".getBytes());
+
+        Packet result = packetKeeper.getPacket(packetInfo);
+
+        assertEquals("cachedpacket", new String(result.getPacket()));
+        Mockito.verify(swiftAdapter, Mockito.never()).getObject(any(), any(), any(), any(), any());
+        Mockito.verify(onlineCrypto, Mockito.never()).decrypt(any(), any(), any(), any());
+    }
+
+    @Test
+    public void testGetPacketWithVerifiedSignature() throws PacketKeeperException {
+        Mockito.when(signatureVerificationCache.isVerified(any(), any(), any())).thenReturn(true);
+
+        Packet result = packetKeeper.getPacket(packetInfo);
+
+        assertTrue(result.getPacketInfo().getId().equals(id));
+        Mockito.verify(onlineCrypto, Mockito.never()).verify(any(), any(), any());
+    }
+
+    @Test
+    public void testConcurrentGetPacketSharesFetch() throws Exception {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        Mockito.when(swiftAdapter.getObject(any(), any(), any(), any(), any())).thenAnswer(invocation -> {
+            started.countDown();
+            release.await();
+            return new ByteArrayInputStream(encryptedPacket.getBytes());
+        });
+        ExecutorService executorService = Executors.newFixedThreadPool(2);
+
+        Future<Packet> first = executorService.submit(() -> packetKeeper.getPacket(packetInfo));
+        started.await();
+        Future<Packet> second = executorService.submit(() -> packetKeeper.getPacket(packetInfo));
+        Thread.sleep(200);
+        release.countDown();
+
+        assertEquals(first.get(), second.get());
+        Mockito.verify(swiftAdapter, Mockito.times(1)).getObject(any(), any(), any(), any(), any());
+        executorService.shutdown();
+    }
+
+    @Test
+    public void testGetPacketFromSubpacketSharedByCluster() throws Exception {
+        // another node has downloaded the subpacket and shares its encrypted copy
+        useHazelcastCoordinator();
+        Mockito.when(inFlight.get(any())).thenReturn(encryptedPacket.getBytes());
+
+        Packet result = packetKeeper.getPacket(packetInfo);
+
+        assertEquals("decryptedpacket", new String(result.getPacket()));
+        Mockito.verify(swiftAdapter, Mockito.never()).getObject(any(), any(), any(), any(), any());
+        Mockito.verify(onlineCrypto).verify(any(), any(), any());
+    }
+
+    @Test
+    public void testGetPacketFromCacheDoesNotUseCluster() throws Exception {
+        useHazelcastCoordinator();
+        Mockito.when(subpacketCache.contains(any())).thenReturn(true);
+        Mockito.when(subpacketCache.get(any(), any())).thenReturn("cachedpacket".getBytes());
+
+        Packet result = packetKeeper.getPacket(packetInfo);
+
+        assertEquals("cachedpacket", new String(result.getPacket()));
+        Mockito.verify(hazelcastInstance, Mockito.never()).getMap(any());
+        Mockito.verifyZeroInteractions(inFlight);
+    }
+
+    @Test
+    public void testClusterLockReleasedBeforeDecrypt() throws Exception {
+        useHazelcastCoordinator();
+        Mockito.when(onlineCrypto.decrypt(any(), any(), any(), any())).thenAnswer(invocation -> {
+            Mockito.verify(inFlight).unlock(any());
+            return "decryptedpacket".getBytes();
+        });
+
+        Packet result = packetKeeper.getPacket(packetInfo);
+
+        assertEquals("decryptedpacket", new String(result.getPacket()));
+        Mockito.verify(inFlight).set(any(), eq(encryptedPacket.getBytes()), anyLong(), any());
+    }
+
+    private void useHazelcastCoordinator() throws InterruptedException {
+        HazelcastFetchCoordinator coordinator = new HazelcastFetchCoordinator();
+        ReflectionTestUtils.setField(coordinator, "hazelcastInstance", hazelcastInstance);
+        ReflectionTestUtils.setField(coordinator, "mapName", "inflight");
+        ReflectionTestUtils.setField(coordinator, "lockWaitSeconds", 1L);
+        ReflectionTestUtils.setField(coordinator, "lockLeaseSeconds", 2L);
+        ReflectionTestUtils.setField(coordinator, "resultTtlSeconds", 3L);
+        Mockito.when(hazelcastInstance.getMap(anyString())).thenReturn(inFlight);
+        Mockito.when(inFlight.tryLock(any(), anyLong(), any(), anyLong(), any())).thenReturn(true);
+        ReflectionTestUtils.setField(packetKeeper, "clusterFetchCoordinator", coordinator);
+    }
+
     @Test(expected = PacketKeeperException.class)
     public void testGetPacketFailure() throws PacketKeeperException {
         Mockito.when(swiftAdapter.getObject(any(), any(), any(), any(), any())).thenThrow(new BaseUncheckedException("code","message"));
@@ -168,6 +312,46 @@ public class PacketKeeperTest {
         packetKeeper.getPacket(packetInfo);
     }
 
+    @Test
+    public void testCorruptedPacketRejectedBeforeDecrypt() {
+        InputStream is = new ByteArrayInputStream((encryptedPacket + "corrupted").getBytes());
+        Mockito.when(swiftAdapter.getObject(any(), any(),any(), any(), any())).thenReturn(is);
+
+        try {
+            packetKeeper.getPacket(packetInfo);
+            fail("PacketKeeperException expected");
+        } catch (PacketKeeperException e) {
+            Mockito.verify(onlineCrypto, Mockito.never()).decrypt(any(), any(), any(), any());
+            Mockito.verify(onlineCrypto, Mockito.never()).verify(any(), any(), any());
+        }
+    }
+
+    @Test
+    public void testGetMissingPacket() {
+        Mockito.when(swiftAdapter.getObject(any(), any(),any(), any(), any())).thenReturn(null);
+
+        try {
+            packetKeeper.getPacket(packetInfo);
+            fail("PacketKeeperException expected");
+        } catch (PacketKeeperException e) {
+            assertEquals(ErrorCode.PACKET_NOT_FOUND.getErrorCode(), e.getErrorCode());
+            Mockito.verify(missingPacketCache).putMissing(any(), Mockito.eq(ErrorCode.PACKET_NOT_FOUND.getErrorCode()));
+        }
+    }
+
+    @Test
+    public void testGetKnownMissingPacket() {
+        Mockito.when(missingPacketCache.getErrorCode(any())).thenReturn(ErrorCode.PACKET_NOT_FOUND.getErrorCode());
+
+        try {
+            packetKeeper.getPacket(packetInfo);
+            fail("PacketKeeperException expected");
+        } catch (PacketKeeperException e) {
+            assertEquals(ErrorCode.PACKET_NOT_FOUND.getErrorCode(), e.getErrorCode());
+            Mockito.verify(swiftAdapter, Mockito.never()).getObject(any(), any(), any(), any(), any());
+        }
+    }
+
     @Test(expected = PacketKeeperException.class)
     @Ignore
     public void testPacketIntegrityFailure() throws PacketKeeperException {
@@ -212,6 +396,32 @@ public class PacketKeeperTest {
     }
  
 
+    @Test
+    public void testPutAndGetDirectory() throws Exception {
+        ReflectionTestUtils.setField(packetKeeper, "containerDirectoryEnabled", true);
+        ContainerDirectory directory = new ContainerDirectory();
+        directory.setSource(source);
+        directory.setProcess(process);
+        directory.getFields().add("email");
+        directory.getFields().add("proofOfAddress");
+        ArgumentCaptor<InputStream> captor = ArgumentCaptor.forClass(InputStream.class);
+
+        assertTrue(packetKeeper.putDirectory(id, directory));
+        Mockito.verify(swiftAdapter).putObject(any(), eq(id), eq(source), eq(process), eq(id + "_directory"), captor.capture());
+
+        Mockito.when(swiftAdapter.getObject(any(), any(), any(), any(), eq(id + "_directory")))
+                .thenReturn(new ByteArrayInputStream(IOUtils.toByteArray(captor.getValue())));
+        assertEquals(directory, packetKeeper.getDirectory(id, source, process));
+    }
+
+    @Test
+    public void testGetDirectoryNotPresent() {
+        ReflectionTestUtils.setField(packetKeeper, "containerDirectoryEnabled", true);
+        Mockito.when(swiftAdapter.getObject(any(), any(), any(), any(), any())).thenReturn(null);
+
+        assertNull(packetKeeper.getDirectory(id, source, process));
+    }
+
     @Test
     public void testgetAll() {
         ObjectDto objectDto = new ObjectDto("source1", "process1", "object1", new Date());
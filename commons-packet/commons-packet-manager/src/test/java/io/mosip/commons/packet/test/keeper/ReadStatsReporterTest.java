@@ -0,0 +1,59 @@
+package io.mosip.commons.packet.test.keeper;
+
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.springframework.test.context.junit4.SpringRunner;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import io.mosip.commons.packet.keeper.LocalDiskTier;
+import io.mosip.commons.packet.keeper.ReadStatsReporter;
+import io.mosip.commons.packet.keeper.SubpacketCache;
+
+@RunWith(SpringRunner.class)
+public class ReadStatsReporterTest {
+
+    @InjectMocks
+    private ReadStatsReporter readStatsReporter;
+
+    @Mock
+    private SubpacketCache subpacketCache;
+
+    @Mock
+    private LocalDiskTier localDiskTier;
+
+    @Test
+    public void testReportLogsHitRatios() {
+        Mockito.when(subpacketCache.getHitRatio()).thenReturn(0.75d);
+        Mockito.when(localDiskTier.getHitRatio()).thenReturn(0.5d);
+
+        readStatsReporter.report();
+
+        Mockito.verify(subpacketCache).getHitRatio();
+        Mockito.verify(localDiskTier).getHitRatio();
+    }
+
+    @Test
+    public void testReportLogsExecutorLoad() {
+        ThreadPoolExecutor subpacketReadExecutor = Mockito.mock(ThreadPoolExecutor.class);
+        Mockito.when(subpacketReadExecutor.getQueue()).thenReturn(new LinkedBlockingQueue<>(10));
+        ReflectionTestUtils.setField(readStatsReporter, "subpacketReadExecutor", subpacketReadExecutor);
+
+        readStatsReporter.report();
+
+        Mockito.verify(subpacketReadExecutor).getActiveCount();
+        Mockito.verify(subpacketReadExecutor, Mockito.times(2)).getQueue();
+    }
+
+    @Test
+    public void testReportFailureIsNotThrown() {
+        Mockito.when(subpacketCache.getHitRatio()).thenThrow(new IllegalStateException("failure"));
+
+        readStatsReporter.report();
+    }
+}
@@ -0,0 +1,67 @@
+package io.mosip.commons.packet.test.keeper;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import io.mosip.commons.packet.keeper.SubpacketCache;
+
+public class SubpacketCacheTest {
+
+    private SubpacketCache subpacketCache;
+
+    private static final String key = SubpacketCache.getKey("1234567890", "source", "process", "1234567890_id");
+
+    @Before
+    public void setup() {
+        subpacketCache = new SubpacketCache();
+        ReflectionTestUtils.setField(subpacketCache, "enabled", true);
+        ReflectionTestUtils.setField(subpacketCache, "maxSizeBytes", 10L);
+        ReflectionTestUtils.setField(subpacketCache, "ttlSeconds", 300L);
+    }
+
+    @Test
+    public void testGetSuccess() {
+        subpacketCache.put(key, "hash", "packet".getBytes());
+
+        assertTrue(subpacketCache.contains(key));
+        assertArrayEquals("packet".getBytes(), subpacketCache.get(key, "hash"));
+        assertEquals(1, subpacketCache.getHitCount());
+    }
+
+    @Test
+    public void testStaleHash() {
+        subpacketCache.put(key, "hash", "packet".getBytes());
+
+        assertNull(subpacketCache.get(key, "newhash"));
+        assertFalse(subpacketCache.contains(key));
+        assertEquals(1, subpacketCache.getMissCount());
+    }
+
+    @Test
+    public void testEvictionBySize() {
+        String otherKey = SubpacketCache.getKey("1234567890", "source", "process", "1234567890_evidence");
+        subpacketCache.put(key, "hash", "packet".getBytes());
+        subpacketCache.put(otherKey, "hash", "packet".getBytes());
+
+        assertFalse(subpacketCache.contains(key));
+        assertTrue(subpacketCache.contains(otherKey));
+        assertEquals(6, subpacketCache.getSizeBytes());
+        assertEquals(1, subpacketCache.getEvictionCount());
+    }
+
+    @Test
+    public void testInvalidateContainer() {
+        subpacketCache.put(key, "hash", "packet".getBytes());
+        subpacketCache.invalidate("1234567890", "source", "process");
+
+        assertFalse(subpacketCache.contains(key));
+        assertEquals(0, subpacketCache.getSizeBytes());
+    }
+}
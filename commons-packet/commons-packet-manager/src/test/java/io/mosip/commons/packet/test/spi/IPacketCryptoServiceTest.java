@@ -0,0 +1,55 @@
+package io.mosip.commons.packet.test.spi;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+
+import org.junit.Test;
+
+import io.mosip.commons.packet.spi.IPacketCryptoService;
+import io.mosip.kernel.core.util.CryptoUtil;
+
+public class IPacketCryptoServiceTest {
+
+    /**
+     * A crypto service written before the split decrypt was added only implements decrypt of the whole packet.
+     */
+    private static class WholePacketCryptoService implements IPacketCryptoService {
+
+        private String refId;
+        private byte[] packet;
+
+        @Override
+        public byte[] sign(byte[] packet) {
+            return packet;
+        }
+
+        @Override
+        public byte[] encrypt(String id, byte[] packet) {
+            return packet;
+        }
+
+        @Override
+        public byte[] decrypt(String id, byte[] packet) {
+            this.refId = id;
+            this.packet = packet;
+            return "decryptedpacket".getBytes();
+        }
+
+        @Override
+        public boolean verify(String machineId, byte[] packet, byte[] signature) {
+            return true;
+        }
+    }
+
+    @Test
+    public void testDefaultDecryptJoinsPacket() {
+        WholePacketCryptoService cryptoService = new WholePacketCryptoService();
+
+        byte[] result = cryptoService.decrypt("11001_11001", "nonce-12byte".getBytes(),
+                "aaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaa".getBytes(), CryptoUtil.encodeToURLSafeBase64("encryptedpacket".getBytes()));
+
+        assertArrayEquals("decryptedpacket".getBytes(), result);
+        assertEquals("11001_11001", cryptoService.refId);
+        assertArrayEquals(("nonce-12byte" + "aaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaa" + "encryptedpacket").getBytes(), cryptoService.packet);
+    }
+}
@@ -0,0 +1,45 @@
+package io.mosip.commons.packet.test.util;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ThreadPoolExecutor;
+
+import org.junit.Test;
+
+import io.mosip.commons.packet.util.BoundedExecutors;
+
+public class BoundedExecutorsTest {
+
+    @Test
+    public void testThreadsAreNamedDaemons() throws Exception {
+        ThreadPoolExecutor executor = BoundedExecutors.newBoundedExecutor("test-", 1, 1);
+
+        Thread thread = executor.submit(Thread::currentThread).get();
+
+        assertEquals("test-1", thread.getName());
+        assertTrue(thread.isDaemon());
+        executor.shutdown();
+    }
+
+    @Test
+    public void testCallerRunsWhenQueueIsFull() throws Exception {
+        ThreadPoolExecutor executor = BoundedExecutors.newBoundedExecutor("test-", 1, 1);
+        CountDownLatch release = new CountDownLatch(1);
+        executor.execute(() -> {
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        executor.execute(() -> {});
+
+        Thread thread = executor.submit(Thread::currentThread).get();
+
+        assertEquals(Thread.currentThread(), thread);
+        release.countDown();
+        executor.shutdown();
+    }
+}
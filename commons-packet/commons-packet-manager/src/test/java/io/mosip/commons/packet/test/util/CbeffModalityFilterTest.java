@@ -0,0 +1,56 @@
+package io.mosip.commons.packet.test.util;
+
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Collections;
+
+import javax.xml.stream.XMLStreamException;
+
+import org.junit.Test;
+
+import io.mosip.commons.packet.util.CbeffModalityFilter;
+import io.mosip.commons.packet.util.ModalityMatcher;
+
+public class CbeffModalityFilterTest {
+
+    private static final String SEGMENT = "<BIR><Version><Major>1</Major></Version><BDBInfo><Index>%s</Index>"
+            + "<Type>%s</Type><Subtype>%s</Subtype></BDBInfo><BDB>%s</BDB></BIR>";
+
+    private static final String CBEFF = "<?xml version=\"1.0\" encoding=\"UTF-8\" standalone=\"yes\"?>"
+            + "<BIR xmlns=\"http://standards.iso.org/iso-iec/19785/-3/ed-2/\"><Version><Major>1</Major></Version>"
+            + "<BIRInfo><Integrity>false</Integrity></BIRInfo>"
+            + String.format(SEGMENT, "1", "Finger", "Left Thumb", "bGVmdFRodW1i")
+            + String.format(SEGMENT, "2", "Finger", "Right Thumb", "cmlnaHRUaHVtYg==")
+            + String.format(SEGMENT, "3", "Face", "", "ZmFjZQ==")
+            + "</BIR>";
+
+    @Test
+    public void testFilter() throws XMLStreamException {
+        String result = new String(CbeffModalityFilter.filter(CBEFF.getBytes(StandardCharsets.UTF_8),
+                ModalityMatcher.of(Arrays.asList("Left Thumb", "Face"))), StandardCharsets.UTF_8);
+
+        assertTrue(result.contains("xmlns=\"http://standards.iso.org/iso-iec/19785/-3/ed-2/\""));
+        assertTrue(result.contains("<BIRInfo><Integrity>false</Integrity></BIRInfo>"));
+        assertTrue(result.contains("bGVmdFRodW1i"));
+        assertTrue(result.contains("ZmFjZQ=="));
+        assertFalse(result.contains("cmlnaHRUaHVtYg=="));
+        assertFalse(result.contains("<Index>2</Index>"));
+    }
+
+    @Test
+    public void testNoModalities() throws XMLStreamException {
+        byte[] cbeff = CBEFF.getBytes(StandardCharsets.UTF_8);
+
+        assertSame(cbeff, CbeffModalityFilter.filter(cbeff, ModalityMatcher.of(Collections.emptyList())));
+    }
+
+    @Test(expected = XMLStreamException.class)
+    public void testInvalidXml() throws XMLStreamException {
+        CbeffModalityFilter.filter("{ \"identity\" : { } }".getBytes(StandardCharsets.UTF_8),
+                ModalityMatcher.of(Arrays.asList("Face")));
+    }
+}
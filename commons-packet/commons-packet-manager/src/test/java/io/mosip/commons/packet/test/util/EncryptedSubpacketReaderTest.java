@@ -0,0 +1,85 @@
+package io.mosip.commons.packet.test.util;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+
+import java.io.ByteArrayInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.Random;
+
+import org.junit.Test;
+
+import io.mosip.commons.packet.constants.CryptomanagerConstant;
+import io.mosip.commons.packet.dto.EncryptedSubpacket;
+import io.mosip.commons.packet.util.EncryptedSubpacketReader;
+
+public class EncryptedSubpacketReaderTest {
+
+    @Test
+    public void testReadSuccess() throws IOException, NoSuchAlgorithmException {
+        // larger than one chunk and not a multiple of 3
+        byte[] packet = new byte[200001];
+        new Random(1).nextBytes(packet);
+        int headerLength = CryptomanagerConstant.GCM_NONCE_LENGTH + CryptomanagerConstant.GCM_AAD_LENGTH;
+        MessageDigest digest = MessageDigest.getInstance("SHA-256");
+
+        EncryptedSubpacket result = EncryptedSubpacketReader.read(new ByteArrayInputStream(packet), digest);
+
+        assertArrayEquals(Arrays.copyOfRange(packet, 0, CryptomanagerConstant.GCM_NONCE_LENGTH), result.getNonce());
+        assertArrayEquals(Arrays.copyOfRange(packet, CryptomanagerConstant.GCM_NONCE_LENGTH, headerLength), result.getAad());
+        assertEquals(Base64.getUrlEncoder().withoutPadding().encodeToString(Arrays.copyOfRange(packet, headerLength, packet.length)),
+                result.getEncryptedData());
+        assertEquals(packet.length, result.getSize());
+        assertArrayEquals(MessageDigest.getInstance("SHA-256").digest(packet), digest.digest());
+    }
+
+    @Test
+    public void testReadMultiChunkWithLength() throws IOException {
+        // several chunks, the last one partial
+        byte[] packet = new byte[5 * 3 * 16 * 1024 + 7];
+        new Random(2).nextBytes(packet);
+
+        EncryptedSubpacket result = EncryptedSubpacketReader.read(new ByteArrayInputStream(packet), null, packet.length);
+
+        assertEquals(encode(packet), result.getEncryptedData());
+        assertEquals(packet.length, result.getSize());
+    }
+
+    @Test
+    public void testReadMultiChunkWithWrongLength() throws IOException {
+        byte[] packet = new byte[5 * 3 * 16 * 1024 + 2];
+        new Random(3).nextBytes(packet);
+
+        EncryptedSubpacket tooSmall = EncryptedSubpacketReader.read(new ByteArrayInputStream(packet), null, 100);
+        EncryptedSubpacket tooLarge = EncryptedSubpacketReader.read(new ByteArrayInputStream(packet), null, packet.length * 2L);
+
+        assertEquals(encode(packet), tooSmall.getEncryptedData());
+        assertEquals(encode(packet), tooLarge.getEncryptedData());
+        assertEquals(packet.length, tooSmall.getSize());
+    }
+
+    @Test
+    public void testReadHeaderOnly() throws IOException {
+        byte[] packet = new byte[CryptomanagerConstant.GCM_NONCE_LENGTH + CryptomanagerConstant.GCM_AAD_LENGTH];
+
+        EncryptedSubpacket result = EncryptedSubpacketReader.read(new ByteArrayInputStream(packet), null, packet.length);
+
+        assertEquals("", result.getEncryptedData());
+        assertEquals(packet.length, result.getSize());
+    }
+
+    @Test(expected = EOFException.class)
+    public void testReadTruncatedPacket() throws IOException {
+        EncryptedSubpacketReader.read(new ByteArrayInputStream("short".getBytes()), null);
+    }
+
+    private static String encode(byte[] packet) {
+        int headerLength = CryptomanagerConstant.GCM_NONCE_LENGTH + CryptomanagerConstant.GCM_AAD_LENGTH;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(Arrays.copyOfRange(packet, headerLength, packet.length));
+    }
+}
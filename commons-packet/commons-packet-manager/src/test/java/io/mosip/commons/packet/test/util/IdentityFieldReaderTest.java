@@ -0,0 +1,59 @@
+package io.mosip.commons.packet.test.util;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.Test;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import io.mosip.commons.packet.util.IdentityFieldReader;
+
+public class IdentityFieldReaderTest {
+
+    private static final String idObject = "{ \"id\" : \"10001\", \"identity\" : { \"IDSchemaVersion\" : 0.1, "
+            + "\"fullName\" : [ { \"language\" : \"eng\", \"value\" : \"Test\" } ], \"phone\" : \"9606139887\", "
+            + "\"individualBiometrics\" : { \"format\" : \"cbeff\", \"value\" : \"individualBiometrics_bio_CBEFF\" }, "
+            + "\"email\" : null } }";
+
+    @Test
+    public void testReadFields() throws IOException {
+        Map<String, Object> result = IdentityFieldReader.readFields(idObject.getBytes(),
+                new HashSet<>(Arrays.asList("IDSchemaVersion", "fullName", "email", "notPresent")));
+        Map<String, Object> identity = (Map<String, Object>) new ObjectMapper().readValue(idObject, LinkedHashMap.class).get("identity");
+
+        assertEquals(Arrays.asList("IDSchemaVersion", "fullName", "email"), new ArrayList<>(result.keySet()));
+        assertEquals(identity.get("IDSchemaVersion"), result.get("IDSchemaVersion"));
+        assertEquals(identity.get("fullName"), result.get("fullName"));
+        assertTrue(result.get("fullName") instanceof List);
+        assertTrue(result.containsKey("email"));
+        assertFalse(result.containsKey("phone"));
+    }
+
+    @Test
+    public void testNoIdentity() throws IOException {
+        Map<String, Object> result = IdentityFieldReader.readFields("{ \"id\" : \"10001\" }".getBytes(),
+                new HashSet<>(Arrays.asList("phone")));
+
+        assertTrue(result.isEmpty());
+    }
+
+    @Test
+    public void testParseValue() throws IOException {
+        assertEquals(Arrays.asList(Collections.singletonMap("language", "eng")),
+                IdentityFieldReader.parseValue("[ { \"language\" : \"eng\" } ]"));
+        assertEquals(Collections.singletonMap("format", "cbeff"), IdentityFieldReader.parseValue(" {\"format\":\"cbeff\"}"));
+        assertEquals("9606139887", IdentityFieldReader.parseValue("9606139887"));
+        assertEquals("Test", IdentityFieldReader.parseValue("Test"));
+    }
+}
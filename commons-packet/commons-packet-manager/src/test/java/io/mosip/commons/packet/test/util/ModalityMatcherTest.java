@@ -0,0 +1,66 @@
+package io.mosip.commons.packet.test.util;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import org.junit.Test;
+
+import io.mosip.commons.packet.util.ModalityMatcher;
+import io.mosip.kernel.biometrics.constant.BiometricType;
+import io.mosip.kernel.biometrics.entities.BDBInfo;
+import io.mosip.kernel.biometrics.entities.BIR;
+
+public class ModalityMatcherTest {
+
+    @Test
+    public void testMatches() {
+        ModalityMatcher matcher = ModalityMatcher.of(Arrays.asList("Left Thumb", "Face"));
+
+        assertFalse(matcher.isAll());
+        assertTrue(matcher.matches(Arrays.asList("Left", "Thumb")));
+        assertFalse(matcher.matches(Arrays.asList("Thumb", "Left")));
+        assertFalse(matcher.matches(Arrays.asList("left", "thumb")));
+        assertTrue(matcher.matches(Arrays.asList("Finger"), Arrays.asList("Left", "Thumb")));
+        assertTrue(matcher.matches(Arrays.asList("Face"), Collections.emptyList()));
+        assertFalse(matcher.matches(Arrays.asList("Finger"), Arrays.asList("Right", "Thumb")));
+    }
+
+    @Test
+    public void testTypeMatchesWhenSubtypeDoesNot() {
+        ModalityMatcher matcher = ModalityMatcher.of(Arrays.asList("Finger"));
+
+        assertTrue(matcher.matches(Arrays.asList("Finger"), Arrays.asList("Right", "Thumb")));
+        assertFalse(matcher.matches(Arrays.asList("Iris"), Arrays.asList("Left")));
+    }
+
+    @Test
+    public void testNoModalities() {
+        assertTrue(ModalityMatcher.of(null).isAll());
+        assertTrue(ModalityMatcher.of(Collections.emptyList()).matches(Arrays.asList("Iris"), Arrays.asList("Left")));
+    }
+
+    @Test
+    public void testFilter() {
+        BIR thumb = new BIR();
+        BDBInfo thumbInfo = new BDBInfo();
+        thumbInfo.setType(Arrays.asList(BiometricType.FINGER));
+        thumbInfo.setSubtype(Arrays.asList("Left", "Thumb"));
+        thumb.setBdbInfo(thumbInfo);
+        BIR iris = new BIR();
+        BDBInfo irisInfo = new BDBInfo();
+        irisInfo.setType(Arrays.asList(BiometricType.IRIS));
+        irisInfo.setSubtype(Arrays.asList("Left"));
+        iris.setBdbInfo(irisInfo);
+        List<BIR> birs = Arrays.asList(thumb, iris);
+
+        assertEquals(Arrays.asList(thumb), ModalityMatcher.of(Arrays.asList("Left Thumb")).filter(birs));
+        assertEquals(Arrays.asList(iris), ModalityMatcher.of(Arrays.asList("Iris")).filter(birs));
+        assertSame(birs, ModalityMatcher.of(null).filter(birs));
+    }
+}
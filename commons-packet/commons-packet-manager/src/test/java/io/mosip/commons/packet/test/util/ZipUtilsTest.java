@@ -0,0 +1,130 @@
+package io.mosip.commons.packet.test.util;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.CRC32;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+import org.apache.commons.io.IOUtils;
+import org.junit.Test;
+
+import io.mosip.commons.packet.util.ZipUtils;
+
+public class ZipUtilsTest {
+
+    private static byte[] zip(boolean stored, String... names) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (ZipOutputStream zos = new ZipOutputStream(out)) {
+            for (String name : names) {
+                byte[] content = name.getBytes();
+                ZipEntry entry = new ZipEntry(name);
+                if (stored) {
+                    CRC32 crc = new CRC32();
+                    crc.update(content);
+                    entry.setMethod(ZipEntry.STORED);
+                    entry.setSize(content.length);
+                    entry.setCrc(crc.getValue());
+                }
+                zos.putNextEntry(entry);
+                zos.write(content);
+                zos.closeEntry();
+            }
+        }
+        return out.toByteArray();
+    }
+
+    @Test
+    public void testUnzipAndGetFile() throws IOException {
+        byte[] packet = zip(false, "ID.json", "PACKET_META_INFO.json", "proofOfAddress.pdf");
+
+        assertNotNull(ZipUtils.getIndex(packet));
+        assertArrayEquals("ID.json".getBytes(), IOUtils.toByteArray(ZipUtils.unzipAndGetFile(packet, "id")));
+        assertArrayEquals("proofOfAddress.pdf".getBytes(), IOUtils.toByteArray(ZipUtils.unzipAndGetFile(packet, "PROOFOFADDRESS")));
+        assertNull(ZipUtils.unzipAndGetFile(packet, "audit"));
+    }
+
+    @Test
+    public void testStoredEntries() throws IOException {
+        byte[] packet = zip(true, "ID.json", "audit.json");
+
+        assertArrayEquals("audit.json".getBytes(), IOUtils.toByteArray(ZipUtils.unzipAndGetFile(packet, "audit")));
+    }
+
+    @Test
+    public void testFirstEntryWins() throws IOException {
+        byte[] packet = zip(false, "ID.json", "id.xml");
+
+        assertArrayEquals("ID.json".getBytes(), IOUtils.toByteArray(ZipUtils.unzipAndGetFile(packet, "ID")));
+    }
+
+    @Test
+    public void testIndexBuiltOnce() throws IOException {
+        byte[] packet = zip(false, "ID.json");
+
+        assertSame(ZipUtils.getIndex(packet), ZipUtils.getIndex(packet));
+    }
+
+    @Test
+    public void testIndexOfCopy() throws IOException {
+        byte[] packet = zip(false, "ID.json");
+        byte[] copy = packet.clone();
+        ZipUtils.putIndex(copy, ZipUtils.getIndex(packet));
+
+        assertSame(ZipUtils.getIndex(packet), ZipUtils.getIndex(copy));
+        assertArrayEquals("ID.json".getBytes(), IOUtils.toByteArray(ZipUtils.unzipAndGetFile(copy, "ID")));
+    }
+
+    @Test
+    public void testUnzipAndGetFiles() throws IOException {
+        byte[] packet = zip(false, "ID.json", "PACKET_DATA_HASH", "audit.json");
+        // without the end of central directory record the zip can only be read sequentially
+        byte[] sequentialPacket = Arrays.copyOf(packet, packet.length - 22);
+        List<String> files = Arrays.asList("id", "PACKET_DATA_HASH", "PACKET_OPERATIONS_HASH");
+
+        for (byte[] zip : Arrays.asList(packet, sequentialPacket)) {
+            Map<String, byte[]> result = ZipUtils.unzipAndGetFiles(zip, files);
+
+            assertEquals(2, result.size());
+            assertArrayEquals("ID.json".getBytes(), result.get("id"));
+            assertArrayEquals("PACKET_DATA_HASH".getBytes(), result.get("PACKET_DATA_HASH"));
+        }
+        assertNull(ZipUtils.getIndex(sequentialPacket));
+    }
+
+    @Test
+    public void testOpenFile() throws IOException {
+        byte[] deflated = zip(false, "ID.json", "proofOfAddress.pdf");
+        byte[] stored = zip(true, "ID.json", "proofOfAddress.pdf");
+        // without the end of central directory record the zip can only be read sequentially
+        byte[] sequential = Arrays.copyOf(deflated, deflated.length - 22);
+
+        for (byte[] zip : Arrays.asList(deflated, stored, sequential)) {
+            try (InputStream file = ZipUtils.openFile(zip, "PROOFOFADDRESS")) {
+                assertArrayEquals("proofOfAddress.pdf".getBytes(), IOUtils.toByteArray(file));
+            }
+            assertNull(ZipUtils.openFile(zip, "audit"));
+        }
+        assertEquals("proofOfAddress.pdf".length(), ZipUtils.getFileSize(deflated, "proofOfAddress"));
+        assertEquals(-1, ZipUtils.getFileSize(deflated, "audit"));
+        assertEquals(-1, ZipUtils.getFileSize(sequential, "proofOfAddress"));
+    }
+
+    @Test
+    public void testNotAZip() throws IOException {
+        byte[] packet = "not a zip".getBytes();
+
+        assertNull(ZipUtils.getIndex(packet));
+        assertNull(ZipUtils.unzipAndGetFile(packet, "ID"));
+    }
+}
@@ -1,12 +1,17 @@
 package io.mosip.commons.packetmanager.config;
 
+import java.util.concurrent.ExecutorService;
+
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
 import com.fasterxml.jackson.module.afterburner.AfterburnerModule;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.context.annotation.Primary;
 
+import io.mosip.commons.packet.util.BoundedExecutors;
+
 @Configuration
 public class PacketServiceConfig {
 
@@ -16,4 +21,18 @@ public class PacketServiceConfig {
         ObjectMapper objectMapper = new ObjectMapper().registerModule(new AfterburnerModule()).registerModule(new JavaTimeModule());
         return objectMapper;
     }
+
+    /**
+     * Bounded executor used to read the ids of a bulk search concurrently.
+     * When the queue is full the calling thread reads the id itself.
+     *
+     * @param parallelism the number of ids read at a time
+     * @param queueCapacity the number of ids waiting for a thread
+     * @return the executor service
+     */
+    @Bean(name = "bulkReadExecutor", destroyMethod = "shutdown")
+    public ExecutorService bulkReadExecutor(@Value("${packetmanager.bulk.read.parallelism:4}") int parallelism,
+                                            @Value("${packetmanager.bulk.read.queue-capacity:100}") int queueCapacity) {
+        return BoundedExecutors.newBoundedExecutor("bulk-read-", parallelism, queueCapacity);
+    }
 }
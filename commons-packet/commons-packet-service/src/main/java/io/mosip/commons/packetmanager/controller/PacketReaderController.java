@@ -1,25 +1,61 @@
 package io.mosip.commons.packetmanager.controller;
 
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.stream.Collectors;
 
 import io.mosip.commons.packetmanager.dto.SourceProcessDto;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpRange;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
+import org.springframework.http.MediaTypeFactory;
+import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.security.concurrent.DelegatingSecurityContextCallable;
+import org.springframework.security.core.context.SecurityContext;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.util.StreamUtils;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import com.google.common.collect.Lists;
 
+import io.mosip.commons.packet.constants.PacketUtilityErrorCodes;
 import io.mosip.commons.packet.dto.Document;
+import io.mosip.commons.packet.dto.DocumentContent;
+import io.mosip.commons.packet.dto.ReadResult;
 import io.mosip.commons.packet.dto.TagRequestDto;
 import io.mosip.commons.packet.dto.TagResponseDto;
 import io.mosip.commons.packet.facade.PacketReader;
+import io.mosip.commons.packet.util.PacketManagerLogger;
 import io.mosip.commons.packetmanager.dto.BiometricRequestDto;
+import io.mosip.commons.packetmanager.dto.BulkFieldDtos;
+import io.mosip.commons.packetmanager.dto.BulkFieldResponseDto;
+import io.mosip.commons.packetmanager.dto.CompositeReadDto;
 import io.mosip.commons.packetmanager.dto.DocumentDto;
 import io.mosip.commons.packetmanager.dto.FieldDto;
 import io.mosip.commons.packetmanager.dto.FieldDtos;
@@ -29,10 +65,17 @@ import io.mosip.commons.packetmanager.dto.InfoRequestDto;
 import io.mosip.commons.packetmanager.dto.InfoResponseDto;
 import io.mosip.commons.packetmanager.dto.ValidatePacketResponse;
 import io.mosip.commons.packetmanager.service.PacketReaderService;
+import io.mosip.kernel.biometrics.constant.BiometricType;
+import io.mosip.kernel.biometrics.entities.BDBInfo;
+import io.mosip.kernel.biometrics.entities.BIR;
 import io.mosip.kernel.biometrics.entities.BiometricRecord;
+import io.mosip.kernel.core.exception.BaseUncheckedException;
+import io.mosip.kernel.core.exception.ExceptionUtils;
+import io.mosip.kernel.core.exception.ServiceError;
 import io.mosip.kernel.core.http.RequestWrapper;
 import io.mosip.kernel.core.http.ResponseFilter;
 import io.mosip.kernel.core.http.ResponseWrapper;
+import io.mosip.kernel.core.logger.spi.Logger;
 import io.mosip.kernel.core.util.DateUtils;
 
 import io.swagger.v3.oas.annotations.Operation;
@@ -47,11 +90,33 @@ import io.swagger.v3.oas.annotations.media.Schema;
 @Tag(name = "packet-reader-controller", description = "Packet Reader Controller")
 public class PacketReaderController {
 
+    private static final String DOCUMENT_VALUE_HEADER = "X-Document-Value";
+    private static final String DOCUMENT_TYPE_HEADER = "X-Document-Type";
+    private static final String DOCUMENT_FORMAT_HEADER = "X-Document-Format";
+    private static final String DOCUMENT_REFNUMBER_HEADER = "X-Document-RefNumber";
+    private static final String BIOMETRIC_TYPE_HEADER = "X-Biometric-Type";
+    private static final String BIOMETRIC_SUBTYPE_HEADER = "X-Biometric-Subtype";
+    private static final String BIOMETRIC_FORMAT_HEADER = "X-Biometric-Format";
+    private static final String BYTES = "bytes";
+    private static final String NDJSON_VALUE = "application/x-ndjson";
+    private static final Logger LOGGER = PacketManagerLogger.getLogger(PacketReaderController.class);
+
     @Autowired
     private PacketReader packetReader;
 
     @Autowired
     private PacketReaderService packetReaderService;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    @Qualifier("bulkReadExecutor")
+    private ExecutorService bulkReadExecutor;
+
+    @Value("${packetmanager.bulk.read.parallelism:4}")
+    private int bulkReadParallelism;
+
     @PreAuthorize("hasAnyRole(@authorizedRoles.getPostsearchfield())")
     @ResponseFilter
     @PostMapping(path = "/searchField", consumes = MediaType.APPLICATION_JSON_VALUE, produces = MediaType.APPLICATION_JSON_VALUE)
@@ -86,25 +151,61 @@ public class PacketReaderController {
             @ApiResponse(responseCode = "403", description = "Forbidden", content = @Content(schema = @Schema(hidden = true))),
             @ApiResponse(responseCode = "404", description = "Not Found", content = @Content(schema = @Schema(hidden = true))) })
     public ResponseWrapper<FieldResponseDto> searchFields(@RequestBody(required = true) RequestWrapper<FieldDtos> request) {
-        FieldDtos fieldDtos = request.getRequest();
-        Map<String, String> resultFields = new HashMap<>();
-        if ((fieldDtos.getSource()) == null) {
-            for (String field : fieldDtos.getFields()) {
-                SourceProcessDto sourceProcessDto = packetReaderService.getSourceAndProcess(fieldDtos.getId(),
-                        field, fieldDtos.getSource(), fieldDtos.getProcess());
-                String value = sourceProcessDto == null ? null :
-                        packetReader.getField(fieldDtos.getId(), field, sourceProcessDto.getSource(),
-                        sourceProcessDto.getProcess(), fieldDtos.getBypassCache());
-                resultFields.put(field, value);
-            }
-        } else
-            resultFields = packetReader.getFields(fieldDtos.getId(), fieldDtos.getFields(), fieldDtos.getSource(), fieldDtos.getProcess(), fieldDtos.getBypassCache());
-        FieldResponseDto resultField = new FieldResponseDto(resultFields);
+        FieldResponseDto resultField = new FieldResponseDto(getFields(request.getRequest()));
         ResponseWrapper<FieldResponseDto> response = new ResponseWrapper<FieldResponseDto>();
         response.setResponse(resultField);
         return response;
     }
 
+    @PreAuthorize("hasAnyRole(@authorizedRoles.getPostsearchfields())")
+    @PostMapping(path = "/bulk/searchFields", consumes = MediaType.APPLICATION_JSON_VALUE, produces = NDJSON_VALUE)
+    @Operation(summary = "bulkSearchFields", description = "Search the fields of several ids concurrently. One json line is streamed per id as soon as it is read, with the errors of the id instead of the fields if it could not be read", tags = { "packet-reader-controller" })
+    @ApiResponses(value = { @ApiResponse(responseCode = "200", description = "OK"),
+            @ApiResponse(responseCode = "401", description = "Unauthorized", content = @Content(schema = @Schema(hidden = true))),
+            @ApiResponse(responseCode = "403", description = "Forbidden", content = @Content(schema = @Schema(hidden = true))) })
+    public ResponseEntity<StreamingResponseBody> bulkSearchFields(@RequestBody(required = true) RequestWrapper<BulkFieldDtos> request) {
+        List<FieldDtos> fieldDtos = request.getRequest() == null || request.getRequest().getRequests() == null ?
+                Collections.emptyList() : request.getRequest().getRequests();
+        // the ids are read on other threads with the authentication of the request
+        SecurityContext securityContext = SecurityContextHolder.getContext();
+        StreamingResponseBody body = outputStream -> {
+            CompletionService<BulkFieldResponseDto> completionService = new ExecutorCompletionService<>(bulkReadExecutor);
+            // only the reads in progress are kept, the results already written are released
+            Set<Future<BulkFieldResponseDto>> running = new HashSet<>();
+            Iterator<FieldDtos> pending = fieldDtos.iterator();
+            int written = 0;
+            try {
+                while (!running.isEmpty() || pending.hasNext()) {
+                    // a request does not queue more ids than the executor reads at a time
+                    while (running.size() < bulkReadParallelism && pending.hasNext()) {
+                        FieldDtos fieldDto = pending.next();
+                        running.add(completionService.submit(
+                                DelegatingSecurityContextCallable.create(() -> searchFields(fieldDto), securityContext)));
+                    }
+                    Future<BulkFieldResponseDto> done = completionService.take();
+                    running.remove(done);
+                    BulkFieldResponseDto result = done.get();
+                    outputStream.write(objectMapper.writeValueAsBytes(result));
+                    outputStream.write('\n');
+                    outputStream.flush();
+                    written++;
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                // the stream is aborted so that the client does not take a truncated response as complete
+                LOGGER.warn(PacketManagerLogger.SESSIONID, PacketManagerLogger.REGISTRATIONID, null,
+                        "Bulk read interrupted, ids not returned : " + (fieldDtos.size() - written));
+                throw new InterruptedIOException("Bulk read interrupted after " + written + " of " + fieldDtos.size() + " ids");
+            } catch (ExecutionException e) {
+                throw new IOException(e.getCause());
+            } finally {
+                // the ids not read yet are dropped when the client is gone
+                running.forEach(future -> future.cancel(false));
+            }
+        };
+        return ResponseEntity.ok().contentType(MediaType.parseMediaType(NDJSON_VALUE)).body(body);
+    }
+
     @ResponseFilter
     @PreAuthorize("hasAnyRole(@authorizedRoles.getPostdocument())")
     @PostMapping(path = "/document", consumes = MediaType.APPLICATION_JSON_VALUE, produces = MediaType.APPLICATION_JSON_VALUE)
@@ -126,6 +227,73 @@ public class PacketReaderController {
         return response;
     }
 
+    @PreAuthorize("hasAnyRole(@authorizedRoles.getPostdocument())")
+    @PostMapping(path = "/document/content", consumes = MediaType.APPLICATION_JSON_VALUE)
+    @Operation(summary = "getDocumentContent", description = "Stream the document content, the document information is returned in headers. A single byte range can be requested with the Range header", tags = { "packet-reader-controller" })
+    @ApiResponses(value = { @ApiResponse(responseCode = "200", description = "OK"),
+            @ApiResponse(responseCode = "206", description = "Partial Content"),
+            @ApiResponse(responseCode = "401", description = "Unauthorized", content = @Content(schema = @Schema(hidden = true))),
+            @ApiResponse(responseCode = "403", description = "Forbidden", content = @Content(schema = @Schema(hidden = true))),
+            @ApiResponse(responseCode = "404", description = "Not Found", content = @Content(schema = @Schema(hidden = true))),
+            @ApiResponse(responseCode = "416", description = "Range Not Satisfiable", content = @Content(schema = @Schema(hidden = true))) })
+    public ResponseEntity<StreamingResponseBody> getDocumentContent(@RequestBody(required = true) RequestWrapper<DocumentDto> request,
+            @RequestHeader(value = HttpHeaders.RANGE, required = false) String range) {
+        DocumentDto documentDto = request.getRequest();
+        SourceProcessDto sourceProcessDto = packetReaderService.getSourceAndProcess(documentDto.getId(),
+                documentDto.getDocumentName(), documentDto.getSource(), documentDto.getProcess());
+        DocumentContent documentContent = sourceProcessDto == null ? null :
+                packetReader.getDocumentContent(documentDto.getId(), documentDto.getDocumentName(),
+                sourceProcessDto.getSource(), sourceProcessDto.getProcess());
+        if (documentContent == null)
+            return ResponseEntity.notFound().build();
+
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(getMediaType(documentContent.getFormat()));
+        addHeader(headers, DOCUMENT_VALUE_HEADER, documentContent.getValue());
+        addHeader(headers, DOCUMENT_TYPE_HEADER, documentContent.getType());
+        addHeader(headers, DOCUMENT_FORMAT_HEADER, documentContent.getFormat());
+        addHeader(headers, DOCUMENT_REFNUMBER_HEADER, documentContent.getRefNumber());
+        return getContentResponse(headers, documentContent.getContent(), documentContent.getLength(), range);
+    }
+
+    @PreAuthorize("hasAnyRole(@authorizedRoles.getPostbiometrics())")
+    @PostMapping(path = "/biometrics/content", consumes = MediaType.APPLICATION_JSON_VALUE)
+    @Operation(summary = "getBiometricContent", description = "Get the biometric data of the first segment matching the modalities, the segment information is returned in headers. A single byte range can be requested with the Range header", tags = { "packet-reader-controller" })
+    @ApiResponses(value = { @ApiResponse(responseCode = "200", description = "OK"),
+            @ApiResponse(responseCode = "206", description = "Partial Content"),
+            @ApiResponse(responseCode = "401", description = "Unauthorized", content = @Content(schema = @Schema(hidden = true))),
+            @ApiResponse(responseCode = "403", description = "Forbidden", content = @Content(schema = @Schema(hidden = true))),
+            @ApiResponse(responseCode = "404", description = "Not Found", content = @Content(schema = @Schema(hidden = true))),
+            @ApiResponse(responseCode = "416", description = "Range Not Satisfiable", content = @Content(schema = @Schema(hidden = true))) })
+    public ResponseEntity<StreamingResponseBody> getBiometricContent(@RequestBody(required = true) RequestWrapper<BiometricRequestDto> request,
+            @RequestHeader(value = HttpHeaders.RANGE, required = false) String range) {
+        BiometricRequestDto bioRequest = request.getRequest();
+        SourceProcessDto sourceProcessDto = packetReaderService.getSourceAndProcess(bioRequest.getId(),
+                bioRequest.getPerson(), bioRequest.getSource(), bioRequest.getProcess());
+        List<String> modalities = bioRequest.getModalities() == null ? Lists.newArrayList() : bioRequest.getModalities();
+        // the record of the person is cached once, every segment is served from it
+        BiometricRecord biometricRecord = sourceProcessDto == null ? null :
+                packetReader.getBiometric(bioRequest.getId(), bioRequest.getPerson(), modalities,
+                sourceProcessDto.getSource(), sourceProcessDto.getProcess(), bioRequest.isBypassCache());
+        BIR segment = biometricRecord == null || biometricRecord.getSegments() == null ? null :
+                biometricRecord.getSegments().stream().filter(bir -> bir.getBdb() != null).findFirst().orElse(null);
+        if (segment == null)
+            return ResponseEntity.notFound().build();
+
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(MediaType.APPLICATION_OCTET_STREAM);
+        if (segment.getBdbInfo() != null) {
+            BDBInfo bdbInfo = segment.getBdbInfo();
+            if (bdbInfo.getType() != null)
+                addHeader(headers, BIOMETRIC_TYPE_HEADER, bdbInfo.getType().stream().map(BiometricType::value).collect(Collectors.joining(" ")));
+            if (bdbInfo.getSubtype() != null)
+                addHeader(headers, BIOMETRIC_SUBTYPE_HEADER, String.join(" ", bdbInfo.getSubtype()));
+            if (bdbInfo.getFormat() != null)
+                addHeader(headers, BIOMETRIC_FORMAT_HEADER, bdbInfo.getFormat().getType());
+        }
+        return getContentResponse(headers, new ByteArrayInputStream(segment.getBdb()), segment.getBdb().length, range);
+    }
+
     @ResponseFilter
     @PreAuthorize("hasAnyRole(@authorizedRoles.getPostbiometrics())")
     @PostMapping(path = "/biometrics", consumes = MediaType.APPLICATION_JSON_VALUE, produces = MediaType.APPLICATION_JSON_VALUE)
@@ -194,6 +362,22 @@ public class PacketReaderController {
         return response;
     }
 
+    @ResponseFilter
+    @PreAuthorize("hasAnyRole(@authorizedRoles.getPostread())")
+    @PostMapping(path = "/read", consumes = MediaType.APPLICATION_JSON_VALUE, produces = MediaType.APPLICATION_JSON_VALUE)
+    @Operation(summary = "read", description = "Read fields, documents, biometrics, meta info and audits of a packet in one call", tags = { "packet-reader-controller" })
+    @ApiResponses(value = { @ApiResponse(responseCode = "200", description = "OK"),
+            @ApiResponse(responseCode = "201", description = "Created", content = @Content(schema = @Schema(hidden = true))),
+            @ApiResponse(responseCode = "401", description = "Unauthorized", content = @Content(schema = @Schema(hidden = true))),
+            @ApiResponse(responseCode = "403", description = "Forbidden", content = @Content(schema = @Schema(hidden = true))),
+            @ApiResponse(responseCode = "404", description = "Not Found", content = @Content(schema = @Schema(hidden = true))) })
+    public ResponseWrapper<ReadResult> read(@RequestBody(required = true) RequestWrapper<CompositeReadDto> request) {
+        ReadResult readResult = packetReaderService.read(request.getRequest());
+        ResponseWrapper<ReadResult> response = getResponseWrapper();
+        response.setResponse(readResult);
+        return response;
+    }
+
     @ResponseFilter
     @PreAuthorize("hasAnyRole(@authorizedRoles.getPostvalidatepacket())")
     @PostMapping(path = "/validatePacket", consumes = MediaType.APPLICATION_JSON_VALUE, produces = MediaType.APPLICATION_JSON_VALUE)
@@ -249,6 +433,128 @@ public class PacketReaderController {
         return response;
     }
 
+    private Map<String, String> getFields(FieldDtos fieldDtos) {
+        Map<String, String> resultFields = new HashMap<>();
+        if ((fieldDtos.getSource()) == null) {
+            // the containers of the packet are read and sorted once for all the fields
+            Map<String, SourceProcessDto> sourceProcessDtos = packetReaderService.getSourceAndProcessOfFields(
+                    fieldDtos.getId(), fieldDtos.getFields(), fieldDtos.getSource(), fieldDtos.getProcess());
+            Map<SourceProcessDto, List<String>> fieldsByContainer = new LinkedHashMap<>();
+            for (String field : fieldDtos.getFields()) {
+                SourceProcessDto sourceProcessDto = sourceProcessDtos.get(field);
+                if (sourceProcessDto == null)
+                    resultFields.put(field, null);
+                else if (fieldDtos.getBypassCache())
+                    fieldsByContainer.computeIfAbsent(sourceProcessDto, k -> new ArrayList<>()).add(field);
+                else
+                    resultFields.put(field, packetReader.getField(fieldDtos.getId(), field, sourceProcessDto.getSource(),
+                            sourceProcessDto.getProcess(), false));
+            }
+            // without cache the fields of a container are read from its packet together
+            for (Map.Entry<SourceProcessDto, List<String>> entry : fieldsByContainer.entrySet()) {
+                Map<String, String> values = packetReader.getFields(fieldDtos.getId(), entry.getValue(),
+                        entry.getKey().getSource(), entry.getKey().getProcess(), true);
+                for (String field : entry.getValue())
+                    resultFields.put(field, values != null ? values.get(field) : null);
+            }
+        } else
+            resultFields = packetReader.getFields(fieldDtos.getId(), fieldDtos.getFields(), fieldDtos.getSource(), fieldDtos.getProcess(), fieldDtos.getBypassCache());
+        return resultFields;
+    }
+
+    /**
+     * Search the fields of one id of a bulk search. A failure is returned as the errors of the id,
+     * so the other ids are still read.
+     */
+    private BulkFieldResponseDto searchFields(FieldDtos fieldDtos) {
+        try {
+            return new BulkFieldResponseDto(fieldDtos.getId(), getFields(fieldDtos), null);
+        } catch (BaseUncheckedException e) {
+            LOGGER.error(PacketManagerLogger.SESSIONID, PacketManagerLogger.REGISTRATIONID, fieldDtos.getId(),
+                    ExceptionUtils.getStackTrace(e));
+            return new BulkFieldResponseDto(fieldDtos.getId(), null,
+                    Lists.newArrayList(new ServiceError(e.getErrorCode(), e.getErrorText())));
+        } catch (Exception e) {
+            LOGGER.error(PacketManagerLogger.SESSIONID, PacketManagerLogger.REGISTRATIONID, fieldDtos.getId(),
+                    ExceptionUtils.getStackTrace(e));
+            return new BulkFieldResponseDto(fieldDtos.getId(), null,
+                    Lists.newArrayList(new ServiceError(PacketUtilityErrorCodes.UNKNOWN_EXCEPTION.getErrorCode(), e.getMessage())));
+        }
+    }
+
+    private static MediaType getMediaType(String format) {
+        return format != null ? MediaTypeFactory.getMediaType("document." + format).orElse(MediaType.APPLICATION_OCTET_STREAM)
+                : MediaType.APPLICATION_OCTET_STREAM;
+    }
+
+    private static void addHeader(HttpHeaders headers, String name, String value) {
+        if (value != null)
+            headers.set(name, value);
+    }
+
+    /**
+     * Stream the content, or a single requested range of it if the length is known.
+     * Several ranges or an invalid range header are ignored and the full content is returned.
+     */
+    private static ResponseEntity<StreamingResponseBody> getContentResponse(HttpHeaders headers, InputStream content,
+            long length, String range) {
+        long start = 0;
+        long end = length - 1;
+        boolean partial = false;
+        if (length >= 0) {
+            headers.set(HttpHeaders.ACCEPT_RANGES, BYTES);
+            List<HttpRange> ranges = getRanges(range);
+            if (ranges.size() == 1) {
+                try {
+                    start = ranges.get(0).getRangeStart(length);
+                    end = ranges.get(0).getRangeEnd(length);
+                } catch (IllegalArgumentException e) {
+                    start = length;
+                }
+                if (start >= length || start > end) {
+                    closeQuietly(content);
+                    return ResponseEntity.status(HttpStatus.REQUESTED_RANGE_NOT_SATISFIABLE)
+                            .header(HttpHeaders.CONTENT_RANGE, BYTES + " */" + length).build();
+                }
+                partial = true;
+                headers.set(HttpHeaders.CONTENT_RANGE, BYTES + " " + start + "-" + end + "/" + length);
+            }
+            headers.setContentLength(end - start + 1);
+        }
+
+        long rangeStart = start;
+        long rangeEnd = end;
+        boolean copyRange = partial;
+        // the content is copied to the response in small chunks, the bytes before the range are skipped
+        StreamingResponseBody body = outputStream -> {
+            try (InputStream in = content) {
+                if (copyRange)
+                    StreamUtils.copyRange(in, outputStream, rangeStart, rangeEnd);
+                else
+                    StreamUtils.copy(in, outputStream);
+            }
+        };
+        return ResponseEntity.status(partial ? HttpStatus.PARTIAL_CONTENT : HttpStatus.OK).headers(headers).body(body);
+    }
+
+    private static List<HttpRange> getRanges(String range) {
+        if (range == null)
+            return Collections.emptyList();
+        try {
+            return HttpRange.parseRanges(range);
+        } catch (IllegalArgumentException e) {
+            return Collections.emptyList();
+        }
+    }
+
+    private static void closeQuietly(InputStream content) {
+        try {
+            content.close();
+        } catch (IOException e) {
+            // nothing was read from the content
+        }
+    }
+
     private ResponseWrapper getResponseWrapper() {
         ResponseWrapper<Object> response = new ResponseWrapper<>();
         response.setId("mosip.registration.packet.reader");
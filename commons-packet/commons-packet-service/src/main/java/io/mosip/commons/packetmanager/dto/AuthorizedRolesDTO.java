@@ -26,6 +26,8 @@ public class AuthorizedRolesDTO {
     private List<String> postmetainfo;
 	
     private List<String> postaudits;
+
+    private List<String> postread;
 	
     private List<String> postvalidatepacket;
 	
@@ -0,0 +1,13 @@
+package io.mosip.commons.packetmanager.dto;
+
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+
+import java.util.List;
+
+@Data
+@EqualsAndHashCode
+public class BulkFieldDtos {
+
+    private List<FieldDtos> requests;
+}
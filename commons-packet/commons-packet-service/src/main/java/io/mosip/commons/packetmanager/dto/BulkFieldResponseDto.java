@@ -0,0 +1,25 @@
+package io.mosip.commons.packetmanager.dto;
+
+import io.mosip.kernel.core.exception.ServiceError;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The fields of one id in the bulk search response. The errors are set instead of the fields when the id
+ * could not be read.
+ */
+@Data
+@EqualsAndHashCode
+@AllArgsConstructor
+@NoArgsConstructor
+public class BulkFieldResponseDto {
+
+    private String id;
+    private Map<String, String> fields;
+    private List<ServiceError> errors;
+}
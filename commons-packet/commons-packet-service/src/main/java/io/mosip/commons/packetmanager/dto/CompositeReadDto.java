@@ -0,0 +1,24 @@
+package io.mosip.commons.packetmanager.dto;
+
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+
+import java.util.List;
+import java.util.Map;
+
+@Data
+@EqualsAndHashCode
+public class CompositeReadDto {
+
+    private String id;
+    private String source;
+    private String process;
+    private List<String> fields;
+    private List<String> documents;
+    /**
+     * the modalities to read by person, null or empty for all modalities.
+     */
+    private Map<String, List<String>> biometrics;
+    private Boolean metaInfo;
+    private Boolean audits;
+}
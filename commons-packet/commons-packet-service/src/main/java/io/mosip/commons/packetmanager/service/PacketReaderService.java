@@ -2,14 +2,18 @@ package io.mosip.commons.packetmanager.service;
 
 import java.io.IOException;
 import java.util.ArrayList;
-import java.util.Arrays;
+import java.util.Collection;
 import java.util.Collections;
+import java.util.Comparator;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 import com.google.common.collect.Maps;
@@ -27,6 +31,9 @@ import com.google.common.collect.Lists;
 
 import io.mosip.commons.khazana.dto.ObjectDto;
 import io.mosip.commons.packet.constants.PacketUtilityErrorCodes;
+import io.mosip.commons.packet.dto.ContainerDirectory;
+import io.mosip.commons.packet.dto.ReadPlan;
+import io.mosip.commons.packet.dto.ReadResult;
 import io.mosip.commons.packet.dto.TagRequestDto;
 import io.mosip.commons.packet.dto.TagResponseDto;
 import io.mosip.commons.packet.exception.GetTagException;
@@ -34,6 +41,7 @@ import io.mosip.commons.packet.facade.PacketReader;
 import io.mosip.commons.packet.util.PacketManagerLogger;
 import io.mosip.commons.packetmanager.constant.DefaultStrategy;
 import io.mosip.commons.packetmanager.dto.BiometricsDto;
+import io.mosip.commons.packetmanager.dto.CompositeReadDto;
 import io.mosip.commons.packetmanager.dto.ContainerInfoDto;
 import io.mosip.commons.packetmanager.dto.InfoResponseDto;
 import io.mosip.commons.packetmanager.dto.SourceProcessDto;
@@ -60,8 +68,6 @@ public class PacketReaderService {
     private static final String PROCESS = "process";
     private static final String PROVIDER = "provider";
     private String key = null;
-    private static final String sourceInitial = "source:";
-    private static final String processInitial = "process:";
     private JSONObject mappingJson = null;
 
     @Value("${config.server.file.storage.uri}")
@@ -73,12 +79,12 @@ public class PacketReaderService {
     @Value("${packetmanager.default.read.strategy}")
     private String defaultStrategy;
 
-    @Value("${packetmanager.default.priority}")
-    private String defaultPriority;
-
     @Autowired
     private PacketReader packetReader;
 
+    @Autowired
+    private SourceProcessPriority sourceProcessPriority;
+
     @Autowired
     @Qualifier("selfTokenRestTemplate")
     private RestTemplate restTemplate;
@@ -101,6 +107,14 @@ public class PacketReaderService {
                     containerInfo.setProcess(o.getProcess());
                     containerInfo.setLastModified(o.getLastModified());
 
+                    // the directory written with the packet answers without decrypting the subpackets
+                    ContainerDirectory directory = packetReader.getContainerDirectory(id, o.getSource(), o.getProcess());
+                    if (directory != null) {
+                        setContainerContent(containerInfo, directory);
+                        containerInfoDtos.add(containerInfo);
+                        continue;
+                    }
+
                     //get demographic fields
                     Set<String> demographics = packetReader.getAllKeys(id, containerInfo.getSource(), containerInfo.getProcess());
                     // get biometrics
@@ -162,6 +176,21 @@ public class PacketReaderService {
         }
     }
 
+    private void setContainerContent(ContainerInfoDto containerInfo, ContainerDirectory directory) throws IOException {
+        containerInfo.setDemographics(directory.getFields() != null ? new HashSet<>(directory.getFields()) : new HashSet<>());
+        Map<String, List<String>> biomap = directory.getBiometrics() != null ? directory.getBiometrics().get(getKey()) : null;
+        if (biomap != null && !biomap.isEmpty()) {
+            List<BiometricsDto> biometrics = new ArrayList<>();
+            for (Map.Entry<String, List<String>> b : biomap.entrySet()) {
+                BiometricsDto bioDto = new BiometricsDto();
+                bioDto.setType(b.getKey());
+                bioDto.setSubtypes(CollectionUtils.isEmpty(b.getValue()) ? null : new ArrayList<>(b.getValue()));
+                biometrics.add(bioDto);
+            }
+            containerInfo.setBiometrics(biometrics);
+        }
+    }
+
     private String getKey() throws IOException {
         if (key != null)
             return key;
@@ -191,11 +220,32 @@ public class PacketReaderService {
     }
 
     public SourceProcessDto getSourceAndProcess(String id, String field, String source, String process) {
-        SourceProcessDto sourceProcessDto = null;
+        return findSourceAndProcess(field, source, process, getContainerInfo(id));
+    }
+
+    /**
+     * Get the source and process of several fields. The containers of the packet are read once for all the fields.
+     *
+     * @return the source and process by field, null if the field is not present
+     */
+    public Map<String, SourceProcessDto> getSourceAndProcessOfFields(String id, Collection<String> fields, String source, String process) {
+        List<ContainerInfoDto> info = getContainerInfo(id);
+        Map<String, SourceProcessDto> sourceProcessDtos = new LinkedHashMap<>();
+        for (String field : fields)
+            sourceProcessDtos.put(field, findSourceAndProcess(field, source, process, info));
+        return sourceProcessDtos;
+    }
+
+    private List<ContainerInfoDto> getContainerInfo(String id) {
         InfoResponseDto infoResponseDto = infoInternal(id);
         List<ContainerInfoDto> info = infoResponseDto.getInfo();
         // sorting in reverse order by process name to search from latest iteration first.
-        Collections.sort(info, (i1, i2) -> extractInt(i2.getProcess()) - (extractInt(i1.getProcess())));
+        sortByLatestIteration(info, ContainerInfoDto::getProcess);
+        return info;
+    }
+
+    private SourceProcessDto findSourceAndProcess(String field, String source, String process, List<ContainerInfoDto> info) {
+        SourceProcessDto sourceProcessDto = null;
         if (StringUtils.isEmpty(source)) {
             try {
                 if (defaultStrategy.equalsIgnoreCase(DefaultStrategy.DEFAULT_PRIORITY.getValue())) {
@@ -216,6 +266,87 @@ public class PacketReaderService {
         return sourceProcessDto;
     }
 
+    /**
+     * Read the fields, documents, biometrics, meta info and audits of a packet together. The items are grouped by
+     * the source and process they are read from and each group is read with one plan, so every subpacket is
+     * fetched once. An item which is not present in any container is returned as null.
+     *
+     * @param request : the items to read
+     * @return the items read
+     */
+    public ReadResult read(CompositeReadDto request) {
+        String id = request.getId();
+        List<String> fields = request.getFields() != null ? request.getFields() : Collections.emptyList();
+        List<String> documents = request.getDocuments() != null ? request.getDocuments() : Collections.emptyList();
+        Map<String, List<String>> biometrics = request.getBiometrics() != null ? request.getBiometrics() : Collections.emptyMap();
+        boolean metaInfo = Boolean.TRUE.equals(request.getMetaInfo());
+        boolean audits = Boolean.TRUE.equals(request.getAudits());
+
+        Set<String> items = new LinkedHashSet<>(fields);
+        items.addAll(documents);
+        items.addAll(biometrics.keySet());
+        Map<String, SourceProcessDto> itemSources = items.isEmpty() ? Collections.emptyMap() :
+                getSourceAndProcessOfFields(id, items, request.getSource(), request.getProcess());
+
+        ReadResult result = new ReadResult();
+        Map<SourceProcessDto, ReadPlan> plans = new LinkedHashMap<>();
+        if (!fields.isEmpty()) {
+            result.setFields(new HashMap<>());
+            for (String field : fields) {
+                result.getFields().put(field, null);
+                if (itemSources.get(field) != null)
+                    getPlan(plans, itemSources.get(field)).getFields().add(field);
+            }
+        }
+        if (!documents.isEmpty()) {
+            result.setDocuments(new LinkedHashMap<>());
+            for (String document : documents) {
+                result.getDocuments().put(document, null);
+                if (itemSources.get(document) != null)
+                    getPlan(plans, itemSources.get(document)).getDocuments().add(document);
+            }
+        }
+        if (!biometrics.isEmpty()) {
+            result.setBiometrics(new LinkedHashMap<>());
+            for (Map.Entry<String, List<String>> biometric : biometrics.entrySet()) {
+                result.getBiometrics().put(biometric.getKey(), null);
+                if (itemSources.get(biometric.getKey()) != null)
+                    getPlan(plans, itemSources.get(biometric.getKey())).getBiometrics()
+                            .put(biometric.getKey(), biometric.getValue() == null ? Lists.newArrayList() : biometric.getValue());
+            }
+        }
+        if (metaInfo || audits) {
+            ReadPlan plan = getPlan(plans, getSourceAndProcess(id, request.getSource(), request.getProcess()));
+            plan.setMetaInfo(metaInfo);
+            plan.setAudits(audits);
+        }
+
+        for (Map.Entry<SourceProcessDto, ReadPlan> plan : plans.entrySet()) {
+            ReadResult planResult = packetReader.read(id, plan.getValue(), plan.getKey().getSource(), plan.getKey().getProcess());
+            if (planResult.getFields() != null)
+                result.getFields().putAll(planResult.getFields());
+            if (planResult.getDocuments() != null)
+                result.getDocuments().putAll(planResult.getDocuments());
+            if (planResult.getBiometrics() != null)
+                result.getBiometrics().putAll(planResult.getBiometrics());
+            if (planResult.getMetaInfo() != null)
+                result.setMetaInfo(planResult.getMetaInfo());
+            if (planResult.getAudits() != null)
+                result.setAudits(planResult.getAudits());
+        }
+        return result;
+    }
+
+    private static ReadPlan getPlan(Map<SourceProcessDto, ReadPlan> plans, SourceProcessDto sourceProcessDto) {
+        return plans.computeIfAbsent(sourceProcessDto, k -> {
+            ReadPlan plan = new ReadPlan();
+            plan.setFields(new ArrayList<>());
+            plan.setDocuments(new ArrayList<>());
+            plan.setBiometrics(new LinkedHashMap<>());
+            return plan;
+        });
+    }
+
     public ContainerInfoDto findPriority(String field, List<ContainerInfoDto> info) {
         if (info.size() == 1)
             return info.iterator().next();
@@ -223,63 +354,43 @@ public class PacketReaderService {
             return getContainerInfoByDefaultPriority(field, info);
     }
 
+    /**
+     * Get the container with the field which has the highest default priority. The containers are sorted
+     * from the latest iteration, so the latest iteration of a process is returned.
+     */
     private ContainerInfoDto getContainerInfoByDefaultPriority(String field, List<ContainerInfoDto> info) {
-        if (StringUtils.isNotEmpty(defaultPriority)) {
-            String[] val = defaultPriority.split(",");
-            if (val != null && val.length > 0) {
-                for (String value : val) {
-                    String[] str = value.split("/");
-                    if (str != null && str.length > 0 && str[0].startsWith(sourceInitial)) {
-                        String sourceStr = str[0].substring(sourceInitial.length());
-                        String processStr = str[1].substring(processInitial.length());
-                        for (String process : processStr.split("\\|")) {
-                            Optional<ContainerInfoDto> containerDto = info.stream().filter(infoDto ->
-                                    infoDto.getDemographics() != null && infoDto.getDemographics().contains(field) && infoDto.getSource().equalsIgnoreCase(sourceStr)
-                            && PacketHelper.getProcessWithoutIteration(infoDto.getProcess()).equalsIgnoreCase(process)).findAny();
-                            // if container is not present then continue searching
-                            if (containerDto.isPresent()) {
-                                return containerDto.get();
-                            } else
-                                continue;
-                        }
-                    }
-                }
+        ContainerInfoDto result = null;
+        int resultRank = Integer.MAX_VALUE;
+        for (ContainerInfoDto infoDto : info) {
+            if (infoDto.getDemographics() == null || !infoDto.getDemographics().contains(field))
+                continue;
+            int rank = sourceProcessPriority.getRank(infoDto.getSource(), infoDto.getProcess());
+            if (rank >= 0 && rank < resultRank) {
+                result = infoDto;
+                resultRank = rank;
             }
         }
-        return null;
+        return result;
     }
 
     private ContainerInfoDto getContainerInfoBySourceAndProcess(String field, String source, String process, List<ContainerInfoDto> info) {
-        Optional<ContainerInfoDto> containerDto = info.stream().filter(infoDto ->
-                infoDto.getDemographics() != null && infoDto.getDemographics().contains(field) && infoDto.getSource().equalsIgnoreCase(source)
-                        && PacketHelper.getProcessWithoutIteration(infoDto.getProcess()).equalsIgnoreCase(process)).findAny();
-
-        return containerDto.isPresent() ? containerDto.get() : null;
+        for (ContainerInfoDto infoDto : info) {
+            if (infoDto.getDemographics() != null && infoDto.getDemographics().contains(field)
+                    && sourceProcessPriority.matches(source, process, infoDto.getSource(), infoDto.getProcess()))
+                return infoDto;
+        }
+        return null;
     }
 
     private String getDefaultSource(String process) {
-        if (StringUtils.isNotEmpty(defaultPriority)) {
-            String[] val = defaultPriority.split(",");
-            if (val != null && val.length > 0) {
-                for (String value : val) {
-                    String[] str = value.split("/");
-                    if (str != null && str.length > 0 && str[0].startsWith(sourceInitial)) {
-                        String sourceStr = str[0].substring(sourceInitial.length());
-                        String processStr = str[1].substring(processInitial.length());
-                        String[] processes = processStr.split("\\|");
-                        if (Arrays.stream(processes).filter(p -> p.equalsIgnoreCase(process)).findAny().isPresent())
-                            return sourceStr;
-                    }
-                }
-            }
-        } else
+        if (sourceProcessPriority.isEmpty())
             throw new SourceNotPresentException();
-        return null;
+        return sourceProcessPriority.getSource(process);
     }
 
     private ObjectDto searchProcessWithLatestIteration(String id, String source, String process) {
         List<ObjectDto> allObjects = packetReader.info(id);
-        Collections.sort(allObjects, (i1, i2) -> extractInt(i2.getProcess()) - (extractInt(i1.getProcess())));
+        sortByLatestIteration(allObjects, ObjectDto::getProcess);
 
         Optional<ObjectDto> objectDto = allObjects.stream().filter(obj ->
                 obj.getSource().equals(source)
@@ -502,14 +613,25 @@ public class PacketReaderService {
         Map<String, String> mergedDocuments = existingInfo.getDocuments() != null ? existingInfo.getDocuments() : Maps.newHashMap();
 
         for (String key : newInfo.getDocuments().keySet()) {
-            if (!existingInfo.getDocuments().containsKey(key))
+            if (!mergedDocuments.containsKey(key))
                 mergedDocuments.put(key, newInfo.getDocuments().get(key));
         }
 
         return mergedDocuments;
     }
 
-    private int extractInt(String s) {
+    /**
+     * Sort the containers from the latest iteration of their process to the first. The iteration of each
+     * process is extracted once, not on both sides of every comparison.
+     */
+    private static <T> void sortByLatestIteration(List<T> containers, Function<T, String> process) {
+        Map<String, Integer> iterations = new HashMap<>();
+        for (T container : containers)
+            iterations.computeIfAbsent(process.apply(container), PacketReaderService::extractInt);
+        containers.sort(Comparator.comparingInt((T container) -> iterations.get(process.apply(container))).reversed());
+    }
+
+    private static int extractInt(String s) {
         String num = s.replaceAll("\\D", "");
         // return 0 if no digits found
         return num.isEmpty() ? 0 : Integer.parseInt(num);
@@ -0,0 +1,161 @@
+package io.mosip.commons.packetmanager.service;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import javax.annotation.PostConstruct;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cloud.context.config.annotation.RefreshScope;
+import org.springframework.stereotype.Component;
+
+import io.mosip.commons.packet.util.PacketHelper;
+import io.mosip.commons.packet.util.PacketManagerLogger;
+import io.mosip.kernel.core.logger.spi.Logger;
+import io.mosip.kernel.core.util.StringUtils;
+
+/**
+ * The default priority of source and process, compiled once from packetmanager.default.priority.
+ * The bean is refresh scoped, so the table is compiled again when the configuration is refreshed.
+ * Sources and processes are compared ignoring case and the iteration of a process is ignored.
+ */
+@RefreshScope
+@Component
+public class SourceProcessPriority {
+
+    private static final Logger LOGGER = PacketManagerLogger.getLogger(SourceProcessPriority.class);
+    private static final String SOURCE_INITIAL = "source:";
+    private static final String PROCESS_INITIAL = "process:";
+    /**
+     * the names are read from the containers of the packets, the caches stop growing beyond this size.
+     */
+    private static final int MAX_CACHED_NAMES = 1000;
+
+    @Value("${packetmanager.default.priority}")
+    private String defaultPriority;
+
+    /**
+     * rank by normalized process by normalized source, the lowest rank has the highest priority.
+     */
+    private Map<String, Map<String, Integer>> ranks = Collections.emptyMap();
+
+    /**
+     * the first source of a normalized process.
+     */
+    private Map<String, String> sourceByProcess = Collections.emptyMap();
+
+    /**
+     * normalized name by source or process.
+     */
+    private final Map<String, String> normalizedNames = new ConcurrentHashMap<>();
+
+    /**
+     * normalized process without iteration by process.
+     */
+    private final Map<String, String> normalizedProcesses = new ConcurrentHashMap<>();
+
+    @PostConstruct
+    public void compile() {
+        Map<String, Map<String, Integer>> compiledRanks = new HashMap<>();
+        Map<String, String> compiledSources = new HashMap<>();
+        if (StringUtils.isNotEmpty(defaultPriority)) {
+            int rank = 0;
+            for (String value : defaultPriority.split(",")) {
+                String[] str = value.split("/");
+                if (!str[0].startsWith(SOURCE_INITIAL))
+                    continue;
+                if (str.length < 2 || !str[1].startsWith(PROCESS_INITIAL)) {
+                    LOGGER.warn(PacketManagerLogger.SESSIONID, PacketManagerLogger.REGISTRATIONID, null,
+                            "Ignoring default priority without process : " + value);
+                    continue;
+                }
+                String source = str[0].substring(SOURCE_INITIAL.length());
+                Map<String, Integer> processRanks = compiledRanks.computeIfAbsent(normalize(source), k -> new HashMap<>());
+                for (String process : str[1].substring(PROCESS_INITIAL.length()).split("\\|")) {
+                    processRanks.putIfAbsent(normalize(process), rank++);
+                    compiledSources.putIfAbsent(normalize(process), source);
+                }
+            }
+        }
+        ranks = Collections.unmodifiableMap(compiledRanks);
+        sourceByProcess = Collections.unmodifiableMap(compiledSources);
+    }
+
+    /**
+     * @return true if no default priority is configured
+     */
+    public boolean isEmpty() {
+        return StringUtils.isEmpty(defaultPriority);
+    }
+
+    /**
+     * Get the source of the first priority which has the process.
+     *
+     * @param process : the process
+     * @return the source as configured or null if no priority has the process
+     */
+    public String getSource(String process) {
+        return process != null ? sourceByProcess.get(getNormalizedName(process)) : null;
+    }
+
+    /**
+     * Get the rank of a container.
+     *
+     * @param source  : the source of the container
+     * @param process : the process of the container, with or without iteration
+     * @return the rank, the lowest has the highest priority, or -1 if the container has no priority
+     */
+    public int getRank(String source, String process) {
+        if (source == null || process == null)
+            return -1;
+        Map<String, Integer> processRanks = ranks.get(getNormalizedName(source));
+        if (processRanks == null)
+            return -1;
+        Integer rank = processRanks.get(getProcessWithoutIteration(process));
+        return rank != null ? rank : -1;
+    }
+
+    /**
+     * Check if a container has the source and process.
+     *
+     * @param source           : the source
+     * @param process          : the process, without iteration
+     * @param containerSource  : the source of the container
+     * @param containerProcess : the process of the container, with or without iteration
+     * @return true if same ignoring case and iteration
+     */
+    public boolean matches(String source, String process, String containerSource, String containerProcess) {
+        return containerSource != null && containerSource.equalsIgnoreCase(source)
+                && containerProcess != null && getProcessWithoutIteration(containerProcess).equalsIgnoreCase(process);
+    }
+
+    private String getNormalizedName(String name) {
+        String normalized = normalizedNames.get(name);
+        if (normalized == null) {
+            normalized = normalize(name);
+            if (normalizedNames.size() < MAX_CACHED_NAMES)
+                normalizedNames.put(name, normalized);
+        }
+        return normalized;
+    }
+
+    /**
+     * Get the normalized process without iteration. It is cached by process.
+     */
+    private String getProcessWithoutIteration(String process) {
+        String normalized = normalizedProcesses.get(process);
+        if (normalized == null) {
+            normalized = normalize(PacketHelper.getProcessWithoutIteration(process));
+            if (normalizedProcesses.size() < MAX_CACHED_NAMES)
+                normalizedProcesses.put(process, normalized);
+        }
+        return normalized;
+    }
+
+    private static String normalize(String value) {
+        return value.toLowerCase(Locale.ROOT);
+    }
+}
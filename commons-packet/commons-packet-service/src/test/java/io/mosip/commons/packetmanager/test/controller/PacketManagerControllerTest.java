@@ -1,15 +1,23 @@
 package io.mosip.commons.packetmanager.test.controller;
 
+import static org.hamcrest.Matchers.containsString;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyBoolean;
 import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
+import java.io.ByteArrayInputStream;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 import org.junit.Before;
 import org.junit.Ignore;
@@ -21,15 +29,19 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.security.test.context.support.WithUserDetails;
 import org.springframework.test.context.junit4.SpringRunner;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 import org.springframework.web.client.RestTemplate;
 
 import com.google.common.collect.Lists;
 
 import io.mosip.commons.packet.dto.Document;
+import io.mosip.commons.packet.dto.DocumentContent;
+import io.mosip.commons.packet.dto.ReadResult;
 import io.mosip.commons.packet.dto.TagDeleteResponseDto;
 import io.mosip.commons.packet.dto.TagDto;
 import io.mosip.commons.packet.dto.TagRequestDto;
@@ -38,6 +50,8 @@ import io.mosip.commons.packet.dto.packet.PacketDto;
 import io.mosip.commons.packet.facade.PacketReader;
 import io.mosip.commons.packet.facade.PacketWriter;
 import io.mosip.commons.packetmanager.dto.BiometricRequestDto;
+import io.mosip.commons.packetmanager.dto.BulkFieldDtos;
+import io.mosip.commons.packetmanager.dto.CompositeReadDto;
 import io.mosip.commons.packetmanager.dto.DocumentDto;
 import io.mosip.commons.packetmanager.dto.FieldDto;
 import io.mosip.commons.packetmanager.dto.FieldDtos;
@@ -48,6 +62,9 @@ import io.mosip.commons.packetmanager.dto.SourceProcessDto;
 import io.mosip.commons.packetmanager.service.PacketReaderService;
 import io.mosip.commons.packetmanager.service.PacketWriterService;
 import io.mosip.commons.packetmanager.test.TestBootApplication;
+import io.mosip.kernel.biometrics.constant.BiometricType;
+import io.mosip.kernel.biometrics.entities.BDBInfo;
+import io.mosip.kernel.biometrics.entities.BIR;
 import io.mosip.kernel.biometrics.entities.BiometricRecord;
 import io.mosip.kernel.core.exception.BaseCheckedException;
 import io.mosip.kernel.core.exception.BaseUncheckedException;
@@ -134,6 +151,70 @@ public class PacketManagerControllerTest {
                 .andExpect(status().isOk());
     }
 
+    @Test
+    @WithUserDetails("reg-processor")
+    public void testSearchFieldsWithoutSource() throws Exception {
+        FieldDtos fieldDto = new FieldDtos();
+        fieldDto.setFields(Lists.newArrayList("fullname", "email", "phone"));
+        fieldDto.setBypassCache(true);
+        fieldDto.setId("id");
+        Map<String, SourceProcessDto> sourceProcessDtos = new HashMap<>();
+        sourceProcessDtos.put("fullname", new SourceProcessDto("source", "process"));
+        sourceProcessDtos.put("email", new SourceProcessDto("source", "process"));
+        HashMap<String, String> fields = new HashMap<>();
+        fields.put("fullname", "value");
+        fields.put("email", "email");
+
+        Mockito.when(packetReaderService.getSourceAndProcessOfFields(any(), any(), any(), any())).thenReturn(sourceProcessDtos);
+        Mockito.when(
+                packetReader.getFields(anyString(), any(), anyString(), anyString(), anyBoolean())).thenReturn(fields);
+
+        request.setRequest(fieldDto);
+
+        this.mockMvc.perform(post("/searchFields").contentType(MediaType.APPLICATION_JSON).content(JsonUtils.javaObjectToJsonString(request)))
+                .andExpect(status().isOk())
+                .andExpect(content().string(containsString("\"fullname\":\"value\"")));
+        Mockito.verify(packetReader).getFields("id", Lists.newArrayList("fullname", "email"), "source", "process", true);
+        Mockito.verify(packetReaderService, Mockito.never()).getSourceAndProcess(any(), any(), any(), any());
+    }
+
+    @Test
+    @WithUserDetails("reg-processor")
+    public void testBulkSearchFields() throws Exception {
+        FieldDtos fieldDto = new FieldDtos();
+        fieldDto.setFields(Lists.newArrayList("fullname"));
+        fieldDto.setBypassCache(false);
+        fieldDto.setId("id1");
+        fieldDto.setProcess("NEW");
+        fieldDto.setSource("REGISTRATION");
+        FieldDtos failedFieldDto = new FieldDtos();
+        failedFieldDto.setFields(Lists.newArrayList("fullname"));
+        failedFieldDto.setBypassCache(false);
+        failedFieldDto.setId("id2");
+        failedFieldDto.setProcess("NEW");
+        failedFieldDto.setSource("REGISTRATION");
+        BulkFieldDtos bulkFieldDtos = new BulkFieldDtos();
+        bulkFieldDtos.setRequests(Lists.newArrayList(fieldDto, failedFieldDto));
+        HashMap<String, String> fields = new HashMap<>();
+        fields.put("fullname", "value");
+
+        Mockito.when(
+                packetReader.getFields(eq("id1"), any(), anyString(), anyString(), anyBoolean())).thenReturn(fields);
+        Mockito.when(
+                packetReader.getFields(eq("id2"), any(), anyString(), anyString(), anyBoolean())).thenThrow(new BaseUncheckedException("code", "message"));
+
+        request.setRequest(bulkFieldDtos);
+
+        MvcResult result = this.mockMvc.perform(post("/bulk/searchFields").contentType(MediaType.APPLICATION_JSON).content(JsonUtils.javaObjectToJsonString(request)))
+                .andExpect(request().asyncStarted()).andReturn();
+        this.mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(content().string(containsString("\"id\":\"id1\"")))
+                .andExpect(content().string(containsString("\"fullname\":\"value\"")))
+                .andExpect(content().string(containsString("\"id\":\"id2\"")))
+                .andExpect(content().string(containsString("\"errorCode\":\"code\"")));
+    }
+
     @Test
     @WithUserDetails("reg-processor")
     public void testDocument() throws Exception {
@@ -155,6 +236,125 @@ public class PacketManagerControllerTest {
                 .andExpect(status().isOk());
     }
 
+    @Test
+    @WithUserDetails("reg-processor")
+    public void testDocumentContent() throws Exception {
+        DocumentDto documentDto = new DocumentDto();
+        documentDto.setDocumentName("proofOfAddress");
+        documentDto.setId("id");
+        documentDto.setProcess("NEW");
+        documentDto.setSource("REGISTRATION");
+        DocumentContent documentContent = new DocumentContent();
+        documentContent.setValue("proofOfAddress");
+        documentContent.setType("DOC001");
+        documentContent.setFormat("pdf");
+        documentContent.setLength(8);
+        documentContent.setContent(new ByteArrayInputStream("document".getBytes()));
+
+        Mockito.when(
+                packetReader.getDocumentContent(anyString(), anyString(), anyString(), anyString())).thenReturn(documentContent);
+
+        request.setRequest(documentDto);
+
+        MvcResult result = this.mockMvc.perform(post("/document/content").contentType(MediaType.APPLICATION_JSON).content(JsonUtils.javaObjectToJsonString(request)))
+                .andExpect(request().asyncStarted()).andReturn();
+        this.mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(header().string("X-Document-Type", "DOC001"))
+                .andExpect(content().contentType("application/pdf"))
+                .andExpect(content().bytes("document".getBytes()));
+    }
+
+    @Test
+    @WithUserDetails("reg-processor")
+    public void testDocumentContentNotFound() throws Exception {
+        DocumentDto documentDto = new DocumentDto();
+        documentDto.setDocumentName("proofOfAddress");
+        documentDto.setId("id");
+
+        Mockito.when(
+                packetReader.getDocumentContent(anyString(), anyString(), anyString(), anyString())).thenReturn(null);
+
+        request.setRequest(documentDto);
+
+        this.mockMvc.perform(post("/document/content").contentType(MediaType.APPLICATION_JSON).content(JsonUtils.javaObjectToJsonString(request)))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    @WithUserDetails("reg-processor")
+    public void testDocumentContentRange() throws Exception {
+        DocumentDto documentDto = new DocumentDto();
+        documentDto.setDocumentName("proofOfAddress");
+        documentDto.setId("id");
+        DocumentContent documentContent = new DocumentContent();
+        documentContent.setLength(8);
+        documentContent.setContent(new ByteArrayInputStream("document".getBytes()));
+
+        Mockito.when(
+                packetReader.getDocumentContent(anyString(), anyString(), anyString(), anyString())).thenReturn(documentContent);
+
+        request.setRequest(documentDto);
+
+        MvcResult result = this.mockMvc.perform(post("/document/content").contentType(MediaType.APPLICATION_JSON)
+                .header(HttpHeaders.RANGE, "bytes=2-4").content(JsonUtils.javaObjectToJsonString(request)))
+                .andExpect(request().asyncStarted()).andReturn();
+        this.mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isPartialContent())
+                .andExpect(header().string(HttpHeaders.CONTENT_RANGE, "bytes 2-4/8"))
+                .andExpect(content().bytes("cum".getBytes()));
+    }
+
+    @Test
+    @WithUserDetails("reg-processor")
+    public void testDocumentContentRangeNotSatisfiable() throws Exception {
+        DocumentDto documentDto = new DocumentDto();
+        documentDto.setDocumentName("proofOfAddress");
+        documentDto.setId("id");
+        DocumentContent documentContent = new DocumentContent();
+        documentContent.setLength(8);
+        documentContent.setContent(new ByteArrayInputStream("document".getBytes()));
+
+        Mockito.when(
+                packetReader.getDocumentContent(anyString(), anyString(), anyString(), anyString())).thenReturn(documentContent);
+
+        request.setRequest(documentDto);
+
+        this.mockMvc.perform(post("/document/content").contentType(MediaType.APPLICATION_JSON)
+                .header(HttpHeaders.RANGE, "bytes=8-").content(JsonUtils.javaObjectToJsonString(request)))
+                .andExpect(status().isRequestedRangeNotSatisfiable())
+                .andExpect(header().string(HttpHeaders.CONTENT_RANGE, "bytes */8"));
+    }
+
+    @Test
+    @WithUserDetails("reg-processor")
+    public void testBiometricContent() throws Exception {
+        BiometricRequestDto biometricRequestDto = new BiometricRequestDto();
+        biometricRequestDto.setPerson("applicant");
+        biometricRequestDto.setId("id");
+        biometricRequestDto.setModalities(Lists.newArrayList("Face"));
+        BIR bir = new BIR.BIRBuilder().build();
+        BDBInfo bdbInfo = new BDBInfo.BDBInfoBuilder().build();
+        bdbInfo.setType(Lists.newArrayList(BiometricType.FACE));
+        bir.setBdbInfo(bdbInfo);
+        bir.setBdb("face".getBytes());
+        BiometricRecord biometricRecord = new BiometricRecord();
+        biometricRecord.setSegments(Lists.newArrayList(bir));
+
+        Mockito.when(
+                packetReader.getBiometric(anyString(), anyString(), any(), anyString(), anyString(), anyBoolean())).thenReturn(biometricRecord);
+
+        request.setRequest(biometricRequestDto);
+
+        MvcResult result = this.mockMvc.perform(post("/biometrics/content").contentType(MediaType.APPLICATION_JSON)
+                .header(HttpHeaders.RANGE, "bytes=-2").content(JsonUtils.javaObjectToJsonString(request)))
+                .andExpect(request().asyncStarted()).andReturn();
+        this.mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isPartialContent())
+                .andExpect(header().string("X-Biometric-Type", "Face"))
+                .andExpect(content().bytes("ce".getBytes()));
+    }
+
     @Test
     @WithUserDetails("reg-processor")
     public void testBiometrics() throws Exception {
@@ -195,6 +395,27 @@ public class PacketManagerControllerTest {
                 .andExpect(status().isOk());
     }
 
+    @Test
+    @WithUserDetails("reg-processor")
+    public void testRead() throws Exception {
+        CompositeReadDto compositeReadDto = new CompositeReadDto();
+        compositeReadDto.setId("id");
+        compositeReadDto.setFields(Lists.newArrayList("name"));
+        compositeReadDto.setDocuments(Lists.newArrayList("poa"));
+        compositeReadDto.setMetaInfo(true);
+
+        ReadResult readResult = new ReadResult();
+        HashMap<String, String> fields = new HashMap<>();
+        fields.put("name", "value");
+        readResult.setFields(fields);
+        Mockito.when(packetReaderService.read(any())).thenReturn(readResult);
+
+        request.setRequest(compositeReadDto);
+
+        this.mockMvc.perform(post("/read").contentType(MediaType.APPLICATION_JSON).content(JsonUtils.javaObjectToJsonString(request)))
+                .andExpect(status().isOk());
+    }
+
     @Test
     @WithUserDetails("reg-processor")
     public void testAudits() throws Exception {
@@ -1,6 +1,7 @@
 package io.mosip.commons.packetmanager.test.service;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyBoolean;
@@ -23,6 +24,7 @@ import org.json.simple.JSONObject;
 import org.junit.Before;
 import org.junit.Test;
 import org.junit.runner.RunWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.Mockito;
@@ -34,12 +36,19 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 import com.google.common.collect.Sets;
 
 import io.mosip.commons.khazana.dto.ObjectDto;
+import io.mosip.commons.packet.dto.ContainerDirectory;
+import io.mosip.commons.packet.dto.ReadPlan;
+import io.mosip.commons.packet.dto.ReadResult;
 import io.mosip.commons.packet.dto.TagRequestDto;
 import io.mosip.commons.packet.dto.TagResponseDto;
 import io.mosip.commons.packet.exception.GetTagException;
 import io.mosip.commons.packet.facade.PacketReader;
+import io.mosip.commons.packetmanager.dto.CompositeReadDto;
+import io.mosip.commons.packetmanager.dto.ContainerInfoDto;
 import io.mosip.commons.packetmanager.dto.InfoResponseDto;
+import io.mosip.commons.packetmanager.dto.SourceProcessDto;
 import io.mosip.commons.packetmanager.service.PacketReaderService;
+import io.mosip.commons.packetmanager.service.SourceProcessPriority;
 import io.mosip.kernel.biometrics.constant.BiometricType;
 import io.mosip.kernel.biometrics.constant.QualityType;
 import io.mosip.kernel.biometrics.entities.BDBInfo;
@@ -65,6 +74,9 @@ public class PacketReaderServiceTest {
     @Mock
     private RestTemplate restTemplate;
 
+    @Mock
+    private SourceProcessPriority sourceProcessPriority;
+
     @Before
     public void setup() throws IOException {
         ReflectionTestUtils.setField(packetReaderService, "configServerUrl", "localhost");
@@ -123,6 +135,87 @@ public class PacketReaderServiceTest {
         assertTrue("Size should be equal.", infoResponseDto.getInfo().size() == 1);
     }
 
+    @Test
+    public void testInfoFromContainerDirectory() {
+        ContainerDirectory directory = new ContainerDirectory();
+        directory.setSource("REGISTRATION_CLIENT");
+        directory.setProcess("NEW");
+        directory.getFields().addAll(Sets.newHashSet("name", "email", "proofOfAddress", "individualBiometrics"));
+        Map<String, List<String>> biometrics = new HashMap<>();
+        biometrics.put("Finger", Lists.newArrayList("Left RingFinger"));
+        directory.getBiometrics().put("individualBiometrics", biometrics);
+        Mockito.when(packetReader.getContainerDirectory(id, "REGISTRATION_CLIENT", "NEW")).thenReturn(directory);
+
+        InfoResponseDto infoResponseDto = packetReaderService.info(id);
+
+        ContainerInfoDto containerInfo = infoResponseDto.getInfo().get(0);
+        assertTrue(containerInfo.getDemographics().contains("proofOfAddress"));
+        assertEquals("Finger", containerInfo.getBiometrics().get(0).getType());
+        assertEquals(Lists.newArrayList("Left RingFinger"), containerInfo.getBiometrics().get(0).getSubtypes());
+        // documents are not listed, the same as for containers without a directory
+        assertNull(containerInfo.getDocuments());
+        Mockito.verify(packetReader, Mockito.never()).getAllKeys(any(), any(), any());
+        Mockito.verify(packetReader, Mockito.never()).getBiometric(any(), any(), any(), any(), any(), anyBoolean());
+    }
+
+    @Test
+    public void testGetSourceAndProcessOfLatestIteration() {
+        Mockito.when(packetReader.info(id)).thenReturn(Lists.newArrayList(
+                new ObjectDto("REGISTRATION_CLIENT", "CORRECTION-1", id + "_id", new Date()),
+                new ObjectDto("REGISTRATION_CLIENT", "CORRECTION-10", id + "_id", new Date()),
+                new ObjectDto("REGISTRATION_CLIENT", "CORRECTION-2", id + "_id", new Date()),
+                new ObjectDto("REGISTRATION_CLIENT", "NEW", id + "_id", new Date())));
+
+        SourceProcessDto sourceProcessDto = packetReaderService.getSourceAndProcess(id, "REGISTRATION_CLIENT", "CORRECTION");
+
+        assertEquals("REGISTRATION_CLIENT", sourceProcessDto.getSource());
+        assertEquals("CORRECTION-10", sourceProcessDto.getProcess());
+    }
+
+    @Test
+    public void testFindPriority() {
+        ContainerInfoDto newInfo = new ContainerInfoDto();
+        newInfo.setSource("REGISTRATION_CLIENT");
+        newInfo.setProcess("NEW");
+        newInfo.setDemographics(Sets.newHashSet("name"));
+        ContainerInfoDto correctionInfo = new ContainerInfoDto();
+        correctionInfo.setSource("REGISTRATION_CLIENT");
+        correctionInfo.setProcess("BIOMETRIC_CORRECTION-1");
+        correctionInfo.setDemographics(Sets.newHashSet("name"));
+        Mockito.when(sourceProcessPriority.getRank("REGISTRATION_CLIENT", "NEW")).thenReturn(1);
+        Mockito.when(sourceProcessPriority.getRank("REGISTRATION_CLIENT", "BIOMETRIC_CORRECTION-1")).thenReturn(0);
+
+        assertEquals(correctionInfo, packetReaderService.findPriority("name", Lists.newArrayList(newInfo, correctionInfo)));
+        assertEquals(null, packetReaderService.findPriority("email", Lists.newArrayList(newInfo, correctionInfo)));
+    }
+
+    @Test
+    public void testRead() {
+        ReadResult readResult = new ReadResult();
+        Map<String, String> fields = new HashMap<>();
+        fields.put("name", "value");
+        readResult.setFields(fields);
+        readResult.setMetaInfo(new HashMap<>());
+        Mockito.when(packetReader.read(any(), any(), any(), any())).thenReturn(readResult);
+        CompositeReadDto compositeReadDto = new CompositeReadDto();
+        compositeReadDto.setId(id);
+        compositeReadDto.setSource("REGISTRATION_CLIENT");
+        compositeReadDto.setProcess("NEW");
+        compositeReadDto.setFields(Lists.newArrayList("name", "notPresent"));
+        compositeReadDto.setMetaInfo(true);
+
+        ReadResult result = packetReaderService.read(compositeReadDto);
+
+        assertEquals("value", result.getFields().get("name"));
+        assertTrue(result.getFields().containsKey("notPresent") && result.getFields().get("notPresent") == null);
+        assertTrue(result.getMetaInfo() != null);
+        // the fields and the meta info are in the same container, so they are read with one plan
+        ArgumentCaptor<ReadPlan> plan = ArgumentCaptor.forClass(ReadPlan.class);
+        Mockito.verify(packetReader, Mockito.times(1)).read(any(), plan.capture(), any(), any());
+        assertEquals(Lists.newArrayList("name"), plan.getValue().getFields());
+        assertTrue(plan.getValue().isMetaInfo());
+    }
+
     @Test(expected = BaseUncheckedException.class)
     public void testException() throws IOException {
         Mockito.when(objectMapper.readValue(anyString(), any(Class.class))).thenThrow(new JsonMappingException("Mapping Exception"));
@@ -0,0 +1,71 @@
+package io.mosip.commons.packetmanager.test.service;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import io.mosip.commons.packetmanager.service.SourceProcessPriority;
+
+public class SourceProcessPriorityTest {
+
+    private SourceProcessPriority sourceProcessPriority;
+
+    @Before
+    public void setup() {
+        sourceProcessPriority = new SourceProcessPriority();
+        ReflectionTestUtils.setField(sourceProcessPriority, "defaultPriority",
+                "source:REGISTRATION_CLIENT/process:BIOMETRIC_CORRECTION|NEW|UPDATE|LOST,source:RESIDENT/process:ACTIVATED|DEACTIVATED|RES_UPDATE|RES_REPRINT");
+        sourceProcessPriority.compile();
+    }
+
+    @Test
+    public void getRankTest() {
+        assertEquals(0, sourceProcessPriority.getRank("REGISTRATION_CLIENT", "BIOMETRIC_CORRECTION"));
+        assertEquals(1, sourceProcessPriority.getRank("registration_client", "new"));
+        assertEquals(6, sourceProcessPriority.getRank("RESIDENT", "RES_UPDATE"));
+        assertEquals(-1, sourceProcessPriority.getRank("RESIDENT", "NEW"));
+        assertEquals(-1, sourceProcessPriority.getRank("OTHER", "NEW"));
+    }
+
+    @Test
+    public void getRankIgnoresIterationTest() {
+        assertEquals(2, sourceProcessPriority.getRank("REGISTRATION_CLIENT", "UPDATE-2"));
+        assertEquals(2, sourceProcessPriority.getRank("REGISTRATION_CLIENT", "UPDATE-2"));
+    }
+
+    @Test
+    public void getSourceTest() {
+        assertEquals("REGISTRATION_CLIENT", sourceProcessPriority.getSource("lost"));
+        assertEquals("RESIDENT", sourceProcessPriority.getSource("ACTIVATED"));
+        assertNull(sourceProcessPriority.getSource("OTHER"));
+    }
+
+    @Test
+    public void matchesTest() {
+        assertTrue(sourceProcessPriority.matches("RESIDENT", "RES_REPRINT", "resident", "RES_REPRINT-1"));
+        assertFalse(sourceProcessPriority.matches("RESIDENT", "RES_REPRINT", "REGISTRATION_CLIENT", "RES_REPRINT"));
+    }
+
+    @Test
+    public void recompileTest() {
+        ReflectionTestUtils.setField(sourceProcessPriority, "defaultPriority", "source:RESIDENT/process:NEW");
+        sourceProcessPriority.compile();
+
+        assertEquals("RESIDENT", sourceProcessPriority.getSource("NEW"));
+        assertEquals(-1, sourceProcessPriority.getRank("REGISTRATION_CLIENT", "NEW"));
+    }
+
+    @Test
+    public void emptyPriorityTest() {
+        ReflectionTestUtils.setField(sourceProcessPriority, "defaultPriority", "");
+        sourceProcessPriority.compile();
+
+        assertTrue(sourceProcessPriority.isEmpty());
+        assertNull(sourceProcessPriority.getSource("NEW"));
+    }
+}